@@ -1,70 +1,160 @@
 package ru.practicum.shareit.baseclient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "proxy-authenticate", "proxy-authorization", "content-length");
+
     private final RestTemplate rest;
+    private final WebClient webClient;
+    private final RequestCoalescer coalescer;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, new SimpleMeterRegistry());
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable WebClient webClient, MeterRegistry meterRegistry) {
         this.rest = rest;
+        this.webClient = webClient;
+        this.coalescer = new RequestCoalescer(getClass().getSimpleName(), meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, String> query) {
+        return get(path, userId, query, true);
     }
 
-    public ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, String> query) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, query, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, String> query,
+                                               boolean userScoped) {
+        String key = buildUri(path, query) + (userScoped ? "#" + userId : "");
+        return coalescer.execute(key, () -> makeAndSendRequest(HttpMethod.GET, path, userId, query, null));
     }
 
-    public <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, String> query, T body) {
+    public <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, String> query,
+                                                 T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, query, body);
     }
 
-    public <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, String> query, T body) {
+    public <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, String> query,
+                                                  T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, query, body);
     }
 
-    public void delete(String path) {
-        makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    public Mono<Void> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null).then();
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method,
+                                                                String path,
+                                                                @Nullable Long userId,
+                                                                @Nullable Map<String, String> query,
+                                                                @Nullable T body) {
+        if (webClient == null) {
+            return Mono.fromCallable(() -> exchange(method, path, userId, query, body));
+        }
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(rest.getUriTemplateHandler().expand(buildUri(path, query)))
+                .headers(headers -> headers.putAll(defaultHeaders(userId)));
+        return (body == null ? request : request.bodyValue(body))
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .map(responseBody -> prepareGatewayResponse(response.statusCode(),
+                                response.headers().asHttpHeaders(), responseBody))
+                        .defaultIfEmpty(prepareGatewayResponse(response.statusCode(),
+                                response.headers().asHttpHeaders(), null)));
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method,
-                                                          String path,
-                                                          @Nullable Long userId,
-                                                          @Nullable Map<String, String> query,
-                                                          @Nullable T body) {
+    private <T> ResponseEntity<Object> exchange(HttpMethod method,
+                                                String path,
+                                                @Nullable Long userId,
+                                                @Nullable Map<String, String> query,
+                                                @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
-            UriComponents uriComponents;
-            if (query == null) {
-                uriComponents = UriComponentsBuilder.fromPath(path).build();
-            } else {
-                MultiValueMap<String, String> queryMap = new LinkedMultiValueMap<>();
-                for (var entry : query.entrySet()) {
-                    queryMap.add(entry.getKey(), entry.getValue());
-                }
-                uriComponents = UriComponentsBuilder.fromPath(path).queryParams(queryMap).build();
-            }
-            String uri = uriComponents.toString();
-            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
+            shareitServerResponse = rest.exchange(buildUri(path, query), method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passThroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    public void stream(String path, Long userId, @Nullable Map<String, String> query, HttpServletResponse response) {
+        HttpHeaders headers = defaultHeaders(userId);
+        try {
+            rest.execute(buildUri(path, query), HttpMethod.GET,
+                    request -> request.getHeaders().putAll(headers),
+                    shareitServerResponse -> {
+                        copyResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                                shareitServerResponse.getBody(), response);
+                        return null;
+                    });
+        } catch (HttpStatusCodeException e) {
+            HttpHeaders errorHeaders = passThroughHeaders(e.getResponseHeaders());
+            if (errorHeaders.getContentType() == null) {
+                errorHeaders.setContentType(MediaType.APPLICATION_JSON);
+            }
+            try {
+                copyResponse(e.getStatusCode(), errorHeaders,
+                        new ByteArrayInputStream(e.getResponseBodyAsByteArray()), response);
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+
+    private static void copyResponse(HttpStatusCode status, @Nullable HttpHeaders headers, InputStream body,
+                                     HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        passThroughHeaders(headers).forEach((name, values) ->
+                values.forEach(value -> response.addHeader(name, value)));
+        StreamUtils.copy(body, response.getOutputStream());
+        response.flushBuffer();
+    }
+
+    private static String buildUri(String path, @Nullable Map<String, String> query) {
+        UriComponents uriComponents;
+        if (query == null) {
+            uriComponents = UriComponentsBuilder.fromPath(path).build();
+        } else {
+            MultiValueMap<String, String> queryMap = new LinkedMultiValueMap<>();
+            for (var entry : query.entrySet()) {
+                queryMap.add(entry.getKey(), entry.getValue());
+            }
+            uriComponents = UriComponentsBuilder.fromPath(path).queryParams(queryMap).build();
+        }
+        return uriComponents.toString();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -77,17 +167,27 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatusCode status, HttpHeaders headers,
+                                                                 @Nullable Object body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status)
+                .headers(passThroughHeaders(headers));
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders passThroughHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders passThrough = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    passThrough.put(name, values);
+                }
+            });
+        }
+        return passThrough;
+    }
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.baseclient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+class RequestCoalescer {
+    static final String REQUESTS_METRIC = "shareit.gateway.coalescing.requests";
+
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    RequestCoalescer(String client, MeterRegistry registry) {
+        leaders = Counter.builder(REQUESTS_METRIC)
+                .tag("client", client)
+                .tag("role", "leader")
+                .register(registry);
+        followers = Counter.builder(REQUESTS_METRIC)
+                .tag("client", client)
+                .tag("role", "follower")
+                .register(registry);
+    }
+
+    Mono<ResponseEntity<Object>> execute(String key, Supplier<Mono<ResponseEntity<Object>>> upstreamCall) {
+        return Mono.defer(() -> {
+            CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+            CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, call);
+            if (running != null) {
+                followers.increment();
+                return Mono.fromFuture(running, true).map(RequestCoalescer::copyOf);
+            }
+
+            leaders.increment();
+            upstreamCall.get()
+                    .doFinally(signal -> inFlight.remove(key, call))
+                    .subscribe(call::complete, call::completeExceptionally, () -> call.complete(null));
+            return Mono.fromFuture(call, true);
+        });
+    }
+
+    private static ResponseEntity<Object> copyOf(ResponseEntity<Object> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(response.getBody());
+    }
+}
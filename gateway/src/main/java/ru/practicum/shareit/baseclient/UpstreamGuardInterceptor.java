@@ -0,0 +1,402 @@
+package ru.practicum.shareit.baseclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limiter.AbstractLimiter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class UpstreamGuardInterceptor implements ClientHttpRequestInterceptor, ExchangeFilterFunction {
+    static final String REJECTED_METRIC = "shareit.gateway.upstream.rejected";
+    static final String LIMIT_METRIC = "shareit.gateway.upstream.limit";
+    static final String IN_FLIGHT_METRIC = "shareit.gateway.upstream.in-flight";
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Function<String, AbstractLimiter<Void>> limiterFactory;
+    private final Duration limiterMaxWait;
+    private final Set<String> streamingEndpoints;
+    private final MeterRegistry meterRegistry;
+    private final Duration openCircuitRetryAfter;
+    private final Scheduler admissionScheduler;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, EndpointGuard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamGuardInterceptor(CircuitBreakerRegistry circuitBreakers,
+                                    BulkheadRegistry bulkheads,
+                                    Function<String, AbstractLimiter<Void>> limiterFactory,
+                                    Duration limiterMaxWait,
+                                    Set<String> streamingEndpoints,
+                                    MeterRegistry meterRegistry,
+                                    Duration openCircuitRetryAfter,
+                                    Scheduler admissionScheduler,
+                                    ObjectMapper objectMapper) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.limiterFactory = limiterFactory;
+        this.limiterMaxWait = limiterMaxWait;
+        this.streamingEndpoints = streamingEndpoints;
+        this.meterRegistry = meterRegistry;
+        this.openCircuitRetryAfter = openCircuitRetryAfter;
+        this.admissionScheduler = admissionScheduler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Admission admission = admit(guardOf(request.getMethod(), request.getURI()));
+        if (admission.rejection() != null) {
+            return new RejectedResponse(admission.rejection());
+        }
+
+        Call call = admission.call();
+        ClientHttpResponse response = null;
+        try {
+            response = execution.execute(request, body);
+            HttpStatusCode status = response.getStatusCode();
+            if (call.guard.streaming()) {
+                call.recordOutcome(status);
+            }
+            return new GuardedResponse(response, call, status);
+        } catch (IOException | RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            call.failed(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        EndpointGuard guard = guardOf(request.method(), request.url());
+        return Mono.fromCallable(() -> admit(guard))
+                .subscribeOn(admissionScheduler)
+                .flatMap(admission -> admission.rejection() != null
+                        ? Mono.just(admission.rejection().toClientResponse())
+                        : exchange(request, next, admission.call()));
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, Call call) {
+        AtomicBoolean responded = new AtomicBoolean();
+        return next.exchange(request)
+                .map(response -> {
+                    responded.set(true);
+                    HttpStatusCode status = response.statusCode();
+                    if (call.guard.streaming()) {
+                        call.recordOutcome(status);
+                    }
+                    return response.mutate()
+                            .body(body -> body.doOnTerminate(() -> call.completed(status))
+                                    .doOnCancel(() -> call.completed(status)))
+                            .build();
+                })
+                .doOnError(call::failed)
+                .doOnCancel(() -> {
+                    if (!responded.get()) {
+                        call.failed(new CancellationException("Request to " + call.guard.endpoint() + " cancelled"));
+                    }
+                });
+    }
+
+    private EndpointGuard guardOf(HttpMethod method, URI uri) {
+        return guards.computeIfAbsent(endpointOf(method, uri), this::createGuard);
+    }
+
+    private Admission admit(EndpointGuard guard) {
+        if (!guard.circuitBreaker().tryAcquirePermission()) {
+            return Admission.rejected(reject(guard, "circuit-open", openCircuitRetryAfter));
+        }
+        if (!guard.bulkhead().tryAcquirePermission()) {
+            guard.circuitBreaker().releasePermission();
+            return Admission.rejected(reject(guard, "bulkhead-full", Duration.ofSeconds(1)));
+        }
+        Optional<Limiter.Listener> listener = acquireLimit(guard);
+        if (listener.isEmpty()) {
+            guard.circuitBreaker().releasePermission();
+            guard.bulkhead().onComplete();
+            return Admission.rejected(reject(guard, "limit-reached", Duration.ofSeconds(1)));
+        }
+        return Admission.admitted(new Call(guard, listener.get(), System.nanoTime()));
+    }
+
+    private EndpointGuard createGuard(String endpoint) {
+        AbstractLimiter<Void> limiter = limiterFactory.apply(endpoint);
+        Gauge.builder(LIMIT_METRIC, limiter, AbstractLimiter::getLimit)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, limiter, AbstractLimiter::getInflight)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        ReentrantLock lock = new ReentrantLock();
+        return new EndpointGuard(endpoint, circuitBreakers.circuitBreaker(endpoint), bulkheads.bulkhead(endpoint),
+                limiter, lock, lock.newCondition(), streamingEndpoints.contains(endpoint));
+    }
+
+    private Optional<Limiter.Listener> acquireLimit(EndpointGuard guard) {
+        Optional<Limiter.Listener> listener = guard.limiter().acquire(null);
+        if (listener.isPresent() || limiterMaxWait.isZero()) {
+            return listener;
+        }
+        long deadline = System.nanoTime() + limiterMaxWait.toNanos();
+        guard.lock().lock();
+        try {
+            while (true) {
+                listener = guard.limiter().acquire(null);
+                long remaining = deadline - System.nanoTime();
+                if (listener.isPresent() || remaining <= 0) {
+                    return listener;
+                }
+                guard.slotFreed().awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            guard.lock().unlock();
+        }
+    }
+
+    private Rejection reject(EndpointGuard guard, String reason, Duration retryAfter) {
+        log.warn("Rejected request to {} without calling the server: {}", guard.endpoint(), reason);
+        Counter.builder(REJECTED_METRIC)
+                .tag("endpoint", guard.endpoint())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        try {
+            return new Rejection(objectMapper.writeValueAsBytes(Map.of(
+                    "error", "Server is unavailable, please retry later",
+                    "description", guard.endpoint() + ": " + reason)), retryAfter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String endpointOf(HttpMethod method, URI uri) {
+        return method + " " + ID_SEGMENT.matcher(uri.getPath()).replaceAll("/{id}");
+    }
+
+    private record Admission(Call call, Rejection rejection) {
+
+        private static Admission admitted(Call call) {
+            return new Admission(call, null);
+        }
+
+        private static Admission rejected(Rejection rejection) {
+            return new Admission(null, rejection);
+        }
+    }
+
+    private record EndpointGuard(String endpoint,
+                                 CircuitBreaker circuitBreaker,
+                                 Bulkhead bulkhead,
+                                 AbstractLimiter<Void> limiter,
+                                 ReentrantLock lock,
+                                 Condition slotFreed,
+                                 boolean streaming) {
+
+        private void signalSlotFreed() {
+            lock.lock();
+            try {
+                slotFreed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Call {
+        private final EndpointGuard guard;
+        private final Limiter.Listener listener;
+        private final long startNanos;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Call(EndpointGuard guard, Limiter.Listener listener, long startNanos) {
+            this.guard = guard;
+            this.listener = listener;
+            this.startNanos = startNanos;
+        }
+
+        private void completed(HttpStatusCode status) {
+            recordOutcome(status);
+            release();
+        }
+
+        private void recordOutcome(HttpStatusCode status) {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            long duration = System.nanoTime() - startNanos;
+            if (status.is5xxServerError()) {
+                guard.circuitBreaker().onError(duration, TimeUnit.NANOSECONDS,
+                        HttpServerErrorException.create(status, "", HttpHeaders.EMPTY, null, null));
+                if (status.isSameCodeAs(HttpStatus.SERVICE_UNAVAILABLE)
+                        || status.isSameCodeAs(HttpStatus.GATEWAY_TIMEOUT)) {
+                    listener.onDropped();
+                } else {
+                    listener.onIgnore();
+                }
+            } else {
+                guard.circuitBreaker().onSuccess(duration, TimeUnit.NANOSECONDS);
+                listener.onSuccess();
+            }
+            guard.signalSlotFreed();
+        }
+
+        private void failed(Throwable e) {
+            if (recorded.compareAndSet(false, true)) {
+                guard.circuitBreaker().onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, e);
+                listener.onDropped();
+                guard.signalSlotFreed();
+            }
+            release();
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                guard.bulkhead().onComplete();
+            }
+        }
+    }
+
+    private static final class GuardedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Call call;
+        private final HttpStatusCode status;
+
+        private GuardedResponse(ClientHttpResponse delegate, Call call, HttpStatusCode status) {
+            this.delegate = delegate;
+            this.call = call;
+            this.status = status;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                call.completed(status);
+            }
+        }
+    }
+
+    private static final class Rejection {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        private Rejection(byte[] body, Duration retryAfter) {
+            this.body = body;
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+            headers.setContentLength(body.length);
+        }
+
+        private ClientResponse toClientResponse() {
+            return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                    .headers(responseHeaders -> responseHeaders.addAll(headers))
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+
+    private static final class RejectedResponse implements ClientHttpResponse {
+        private final Rejection rejection;
+
+        private RejectedResponse(Rejection rejection) {
+            this.rejection = rejection;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return rejection.headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(rejection.body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package ru.practicum.shareit.booking.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.baseclient.BaseClient;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,11 +27,16 @@ public class BookingClient extends BaseClient {
 
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl,
-                         RestTemplateBuilder restTemplateBuilder) {
+                         RestTemplateBuilder restTemplateBuilder,
+                         ClientHttpRequestFactory shareitServerRequestFactory,
+                         ObjectProvider<WebClient> shareitServerWebClient,
+                         MeterRegistry meterRegistry) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .requestFactory(() -> shareitServerRequestFactory)
+                .build(),
+                shareitServerWebClient.getIfAvailable(),
+                meterRegistry
         );
     }
 
@@ -32,31 +44,58 @@ public class BookingClient extends BaseClient {
         super(rest);
     }
 
-    public ResponseEntity<Object> createBooking(long userId, BookingCreateDto booking) {
+    public Mono<ResponseEntity<Object>> createBooking(long userId, BookingCreateDto booking) {
         String path = "";
         return post(path, userId, null, booking);
     }
 
-    public ResponseEntity<Object> answerBookingRequest(long userId, long bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Object>> createBookings(long userId, List<BookingCreateDto> bookings) {
+        String path = "/batch";
+        return post(path, userId, null, bookings);
+    }
+
+    public Mono<ResponseEntity<Object>> answerBookingRequest(long userId, long bookingId, boolean isApproved) {
         String path = String.format("/%d", bookingId);
         Map<String, String> query = Map.of("approved", String.valueOf(isApproved));
         return patch(path, userId, query, null);
     }
 
-    public ResponseEntity<Object> getBookingStatus(long userId, long bookingId) {
+    public Mono<ResponseEntity<Object>> answerBookingRequests(long userId, List<Long> bookingIds, boolean isApproved) {
+        String path = "/batch";
+        Map<String, String> query = Map.of("approved", String.valueOf(isApproved));
+        return patch(path, userId, query, bookingIds);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingStatus(long userId, long bookingId) {
         String path = String.format("/%d", bookingId);
         return get(path, userId, null);
     }
 
-    public ResponseEntity<Object> getAllBookingsOfUser(long userId, BookingState state) {
+    public void getAllBookingsOfUser(long userId, BookingState state, int from, int size, Long after,
+                                     HttpServletResponse response) {
         String path = "";
-        Map<String, String> query = Map.of("state", state.name());
-        return get(path, userId, query);
+        stream(path, userId, pageQuery(state, from, size, after), response);
     }
 
-    public ResponseEntity<Object> getAllBookingsForUserItems(long userId, BookingState state) {
+    public void getAllBookingsForUserItems(long userId, BookingState state, int from, int size, Long after,
+                                           HttpServletResponse response) {
         String path = "/owner";
-        Map<String, String> query = Map.of("state", state.name());
-        return get(path, userId, query);
+        stream(path, userId, pageQuery(state, from, size, after), response);
+    }
+
+    public void exportAllBookingsForUserItems(long userId, BookingState state, HttpServletResponse response) {
+        String path = "/owner/export";
+        stream(path, userId, Map.of("state", state.name()), response);
+    }
+
+    private Map<String, String> pageQuery(BookingState state, int from, int size, Long after) {
+        Map<String, String> query = new HashMap<>();
+        query.put("state", state.name());
+        query.put("from", String.valueOf(from));
+        query.put("size", String.valueOf(size));
+        if (after != null) {
+            query.put("after", String.valueOf(after));
+        }
+        return query;
     }
 }
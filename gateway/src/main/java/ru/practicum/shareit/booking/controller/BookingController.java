@@ -1,8 +1,13 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -17,54 +22,101 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/bookings")
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final BookingClient bookingClient;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                @RequestBody @Valid BookingCreateDto booking) {
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                      @RequestBody @Valid BookingCreateDto booking) {
         log.info("Received request from user id={} for booking with parameters {}", userId, booking);
         return bookingClient.createBooking(userId, booking);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                       @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                       List<@Valid BookingCreateDto> bookings) {
+        log.info("Received request from user id={} for {} bookings", userId, bookings.size());
+        return bookingClient.createBookings(userId, bookings);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> answerBookingRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                       @PathVariable("bookingId") @Positive long bookingId,
-                                                       @RequestParam(name = "approved") boolean isApproved) {
+    public Mono<ResponseEntity<Object>> answerBookingRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                             @PathVariable("bookingId") @Positive long bookingId,
+                                                             @RequestParam(name = "approved") boolean isApproved) {
         log.info("Received request from user id={} to save answer \"{}\" for booking with id={}", userId, isApproved, bookingId);
         return bookingClient.answerBookingRequest(userId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> answerBookingRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                              @RequestParam(name = "approved") boolean isApproved,
+                                                              @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                              List<@Positive Long> bookingIds) {
+        log.info("Received request from user id={} to save answer \"{}\" for bookings with ids={}",
+                userId, isApproved, bookingIds);
+        return bookingClient.answerBookingRequests(userId, bookingIds, isApproved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingStatus(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                   @PathVariable("bookingId") @Positive long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingStatus(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                         @PathVariable("bookingId") @Positive long bookingId) {
         log.info("Received request from user id={} for status of booking with id={}", userId, bookingId);
         return bookingClient.getBookingStatus(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                       @RequestParam(name = "state",
-                                                               defaultValue = "ALL") BookingState state) {
-        log.info("Received request to get all bookings from user id={} and state {}", userId, state);
-        return bookingClient.getAllBookingsOfUser(userId, state);
+    public void getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                     @RequestParam(name = "state",
+                                             defaultValue = "ALL") BookingState state,
+                                     @RequestParam(name = "from",
+                                             defaultValue = "0") @PositiveOrZero int from,
+                                     @RequestParam(name = "size",
+                                             defaultValue = "10") @Positive @Max(100) int size,
+                                     @RequestParam(name = "after",
+                                             required = false) @Positive Long after,
+                                     HttpServletResponse response) {
+        log.info("Received request to get bookings from user id={} and state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+        bookingClient.getAllBookingsOfUser(userId, state, from, size, after, response);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                             @RequestParam(name = "state",
-                                                                     defaultValue = "ALL") @NotNull BookingState state) {
-        log.info("Received request to get all bookings for items of user id={} and state {}", userId, state);
-        return bookingClient.getAllBookingsForUserItems(userId, state);
+    public void getAllBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                           @RequestParam(name = "state",
+                                                   defaultValue = "ALL") @NotNull BookingState state,
+                                           @RequestParam(name = "from",
+                                                   defaultValue = "0") @PositiveOrZero int from,
+                                           @RequestParam(name = "size",
+                                                   defaultValue = "10") @Positive @Max(100) int size,
+                                           @RequestParam(name = "after",
+                                                   required = false) @Positive Long after,
+                                           HttpServletResponse response) {
+        log.info("Received request to get bookings for items of user id={} and state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+        bookingClient.getAllBookingsForUserItems(userId, state, from, size, after, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportAllBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                              @RequestParam(name = "state",
+                                                      defaultValue = "ALL") @NotNull BookingState state,
+                                              HttpServletResponse response) {
+        log.info("Received request to export bookings for items of user id={} and state {}", userId, state);
+        bookingClient.exportAllBookingsForUserItems(userId, state, response);
     }
 }
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+
+@RequiredArgsConstructor
+public class BlockingMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+    private final HandlerMethodReturnValueHandler responseEntityHandler;
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        Object value = returnValue == null ? null : ((Mono<?>) returnValue).block();
+        if (value == null) {
+            mavContainer.setRequestHandled(true);
+            return;
+        }
+        responseEntityHandler.handleReturnValue(value,
+                new ResolvedReturnType(returnType, ResolvableType.forMethodParameter(returnType).getGeneric()),
+                mavContainer, webRequest);
+    }
+
+    private static class ResolvedReturnType extends MethodParameter {
+        private final ResolvableType type;
+
+        ResolvedReturnType(MethodParameter returnType, ResolvableType type) {
+            super(returnType);
+            this.type = type;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return type.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return type.getType();
+        }
+
+        @Override
+        public ResolvedReturnType clone() {
+            return new ResolvedReturnType(this, type);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("!reactive")
+public class BlockingResponseConfig {
+
+    @Bean
+    public static BeanPostProcessor blockingMonoReturnValueHandlerRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof RequestMappingHandlerAdapter adapter) {
+                    List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+                    handlers.stream()
+                            .filter(HttpEntityMethodProcessor.class::isInstance)
+                            .findFirst()
+                            .ifPresent(handler -> handlers.add(0, new BlockingMonoReturnValueHandler(handler)));
+                    adapter.setReturnValueHandlers(handlers);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCacheManager() {
+        return cacheManager -> cacheManager.setAsyncCacheMode(true);
+    }
+}
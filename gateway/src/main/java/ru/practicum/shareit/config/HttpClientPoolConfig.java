@@ -0,0 +1,85 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnThreading(Threading.PLATFORM)
+@Profile("!reactive")
+@EnableConfigurationProperties(HttpClientPoolProperties.class)
+public class HttpClientPoolConfig {
+    public static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            HttpClientPoolProperties properties,
+            @Value("${shareit-server.connect-timeout}") Duration connectTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(toTimeout(connectTimeout))
+                        .setSocketTimeout(toTimeout(properties.getResponseTimeout()))
+                        .setTimeToLive(toTimeValue(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoKeepAlive(properties.isTcpKeepAlive())
+                        .setTcpNoDelay(true)
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerHttpClient(
+            PoolingHttpClientConnectionManager shareitServerConnectionManager,
+            HttpClientPoolProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(shareitServerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(toTimeout(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleTimeout()))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient shareitServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+    }
+
+    @Bean
+    public MeterBinder shareitServerPoolMetrics(PoolingHttpClientConnectionManager shareitServerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(shareitServerConnectionManager, POOL_NAME);
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
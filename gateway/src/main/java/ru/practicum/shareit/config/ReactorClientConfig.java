@@ -0,0 +1,64 @@
+package ru.practicum.shareit.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ReactorClientProperties.class)
+public class ReactorClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareitServerConnectionProvider(ReactorClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient shareitServerReactorClient(ConnectionProvider shareitServerConnectionProvider,
+                                                 ReactorClientProperties properties,
+                                                 @Value("${shareit-server.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.create(shareitServerConnectionProvider)
+                .protocol(properties.getProtocols().toArray(HttpProtocol[]::new))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.getResponseTimeout())
+                .keepAlive(true);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(HttpClient shareitServerReactorClient,
+                                                                ReactorClientProperties properties) {
+        ReactorNettyClientRequestFactory requestFactory =
+                new ReactorNettyClientRequestFactory(shareitServerReactorClient);
+        requestFactory.setExchangeTimeout(properties.getResponseTimeout());
+        requestFactory.setReadTimeout(properties.getResponseTimeout());
+        return requestFactory;
+    }
+
+    @Bean
+    public WebClient shareitServerWebClient(WebClient.Builder webClientBuilder, HttpClient shareitServerReactorClient) {
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(shareitServerReactorClient))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.reactor")
+public class ReactorClientProperties {
+    private int maxConnections = 500;
+    private int pendingAcquireMaxCount = 5_000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.H2C, HttpProtocol.HTTP11);
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.baseclient.UpstreamGuardInterceptor;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-server.resilience", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry shareitServerCircuitBreakers(ResilienceProperties properties) {
+        ResilienceProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(circuitBreaker.getSlowCallDurationThreshold())
+                .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(circuitBreaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(circuitBreaker.getPermittedNumberOfCallsInHalfOpenState())
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry shareitServerBulkheads(ResilienceProperties properties) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getBulkhead().getMaxWaitDuration())
+                .build());
+    }
+
+    @Bean
+    public UpstreamGuardInterceptor shareitServerGuard(CircuitBreakerRegistry shareitServerCircuitBreakers,
+                                                       BulkheadRegistry shareitServerBulkheads,
+                                                       ResilienceProperties properties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry,
+                                                       Scheduler shareitServerAdmissionScheduler,
+                                                       ObjectMapper objectMapper) {
+        ResilienceProperties.Limiter limiter = properties.getLimiter();
+        return new UpstreamGuardInterceptor(shareitServerCircuitBreakers, shareitServerBulkheads,
+                endpoint -> SimpleLimiter.newBuilder()
+                        .named(endpoint)
+                        .limit(Gradient2Limit.newBuilder()
+                                .initialLimit(limiter.getInitialLimit())
+                                .minLimit(limiter.getMinLimit())
+                                .maxConcurrency(limiter.getMaxLimit())
+                                .rttTolerance(limiter.getRttTolerance())
+                                .longWindow(limiter.getLongWindow())
+                                .build())
+                        .build(),
+                limiter.getMaxWaitDuration(),
+                properties.getStreamingEndpoints(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                properties.getCircuitBreaker().getWaitDurationInOpenState(),
+                shareitServerAdmissionScheduler,
+                objectMapper);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler shareitServerAdmissionScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "shareit-server-admission");
+    }
+
+    @Bean
+    public RestTemplateCustomizer shareitServerGuardCustomizer(UpstreamGuardInterceptor shareitServerGuard) {
+        return restTemplate -> restTemplate.getInterceptors().add(shareitServerGuard);
+    }
+
+    @Bean
+    public WebClientCustomizer shareitServerGuardWebClientCustomizer(UpstreamGuardInterceptor shareitServerGuard) {
+        return webClientBuilder -> webClientBuilder.filter(shareitServerGuard);
+    }
+
+    @Bean
+    public MeterBinder shareitServerCircuitBreakerMetrics(CircuitBreakerRegistry shareitServerCircuitBreakers) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(shareitServerCircuitBreakers);
+    }
+
+    @Bean
+    public MeterBinder shareitServerBulkheadMetrics(BulkheadRegistry shareitServerBulkheads) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(shareitServerBulkheads);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    private Bulkhead bulkhead = new Bulkhead();
+    private Limiter limiter = new Limiter();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Set<String> streamingEndpoints = Set.of("GET /bookings/owner/export");
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 100;
+        private Duration maxWaitDuration = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Limiter {
+        private int initialLimit = 100;
+        private int minLimit = 5;
+        private int maxLimit = 100;
+        private double rttTolerance = 2.0;
+        private int longWindow = 600;
+        private Duration maxWaitDuration = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+    }
+}
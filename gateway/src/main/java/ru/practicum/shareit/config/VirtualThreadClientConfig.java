@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Profile("!reactive")
+public class VirtualThreadClientConfig {
+
+    @Bean
+    public HttpClient shareitServerHttpClient(@Value("${shareit-server.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(connectTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareitServerRequestFactory(
+            HttpClient shareitServerHttpClient,
+            @Value("${shareit-server.pool.response-timeout}") Duration responseTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(shareitServerHttpClient);
+        requestFactory.setReadTimeout(responseTimeout);
+        return requestFactory;
+    }
+}
@@ -1,29 +1,46 @@
 package ru.practicum.shareit.item.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.baseclient.BaseClient;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
 @Service
 public class ItemClient extends BaseClient {
+    public static final String SEARCH_CACHE = "itemSearch";
     private static final String API_PREFIX = "/items";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder restTemplateBuilder) {
+                      RestTemplateBuilder restTemplateBuilder,
+                      ClientHttpRequestFactory shareitServerRequestFactory,
+                      ObjectProvider<WebClient> shareitServerWebClient,
+                      MeterRegistry meterRegistry) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .requestFactory(() -> shareitServerRequestFactory)
+                .build(),
+                shareitServerWebClient.getIfAvailable(),
+                meterRegistry
         );
     }
 
@@ -31,32 +48,49 @@ public class ItemClient extends BaseClient {
         super(rest);
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemCreateDTO itemCreateDTO) {
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemCreateDTO itemCreateDTO) {
         String path = "";
         return post(path, userId, null,itemCreateDTO);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemUpdateDTO itemUpdateDTO) {
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemUpdateDTO itemUpdateDTO) {
         String path = String.format("/%d", itemId);
         return patch(path, userId, null,itemUpdateDTO);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(long userId, long itemId) {
         String path = String.format("/%d", itemId);
         return get(path, userId, null);
     }
 
-    public ResponseEntity<Object> getAllItems(long userId) {
+    public Mono<ResponseEntity<Object>> getAllItems(long userId) {
         String path = "";
         return get(path, userId,null);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
+    @Cacheable(cacheNames = SEARCH_CACHE,
+            key = "T(ru.practicum.shareit.item.client.ItemClient).normalizeSearchText(#text) + ':' + #from + ':' + #size",
+            unless = "!#result.statusCode.is2xxSuccessful()")
+    public Mono<ResponseEntity<Object>> searchItems(long userId, String text, int from, int size) {
         String path = "/search";
-        return get(path,null, null);
+        Map<String, String> query = Map.of("text", normalizeSearchText(text),
+                "from", String.valueOf(from),
+                "size", String.valueOf(size));
+        return get(path, userId, query, false);
+    }
+
+    public static String normalizeSearchText(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemAvailability(long userId, long itemId, LocalDateTime from,
+                                                            LocalDateTime to) {
+        String path = String.format("/%d/availability", itemId);
+        Map<String, String> query = Map.of("from", from.toString(), "to", to.toString());
+        return get(path, userId, query);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentCreateDTO comment) {
+    public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentCreateDTO comment) {
         String path = String.format("/%d/comment", itemId);
         return post(path, userId, null, comment);
     }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,11 +19,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -30,17 +36,17 @@ public class ItemController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                             @RequestBody @Valid ItemCreateDTO itemCreateDTO) {
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                   @RequestBody @Valid ItemCreateDTO itemCreateDTO) {
         log.info("Gateway: Received request from userId={} to add item with parameters {}", userId, itemCreateDTO);
         return itemClient.createItem(userId, itemCreateDTO);
     }
 
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                              @PathVariable @Positive long itemId,
-                              @RequestBody @Valid ItemUpdateDTO itemUpdateDTO) {
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                    @PathVariable @Positive long itemId,
+                                    @RequestBody @Valid ItemUpdateDTO itemUpdateDTO) {
         log.info("Gateway: Received request from userId={} to update item with id={} and parameters {}", userId, itemId, itemUpdateDTO);
         return itemClient.updateItem(userId, itemId, itemUpdateDTO);
     }
@@ -48,32 +54,52 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                       @PathVariable @Positive long itemId) {
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                             @PathVariable @Positive long itemId) {
         log.info("Gateway: Received request from userId={} to get item with id= {}", userId, itemId);
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getAllItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getAllItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Gateway: Received request from userId={} to get all items", userId);
         return itemClient.getAllItems(userId);
     }
 
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                           @RequestParam("text") String text) {
-        log.info("Gateway: Received request from userId={} to get items with text={}", userId, text);
-        return itemClient.searchItems(text);
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                 @RequestParam("text") String text,
+                                                 @RequestParam(name = "from",
+                                                         defaultValue = "0") @PositiveOrZero int from,
+                                                 @RequestParam(name = "size",
+                                                         defaultValue = "10") @Positive @Max(100) int size) {
+        log.info("Gateway: Received request from userId={} to get items with text={}, from={}, size={}",
+                userId, text, from, size);
+        return itemClient.searchItems(userId, text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<ResponseEntity<Object>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                            @PathVariable @Positive long itemId,
+                                                            @RequestParam("from")
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime from,
+                                                            @RequestParam("to")
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime to) {
+        log.info("Gateway: Received request from userId={} to get availability of itemId={} from {} to {}",
+                userId, itemId, from, to);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                 @PathVariable @Positive long itemId,
-                                 @RequestBody @Valid CommentCreateDTO comment) {
+    public Mono<ResponseEntity<Object>> addComment(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                       @PathVariable @Positive long itemId,
+                                       @RequestBody @Valid CommentCreateDTO comment) {
         log.info("Gateway: Received request from userId={} to add comment {} to itemId={}", userId, comment, itemId);
         return itemClient.addComment(userId, itemId, comment);
     }
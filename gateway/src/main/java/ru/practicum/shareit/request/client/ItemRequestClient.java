@@ -1,16 +1,20 @@
 package ru.practicum.shareit.request.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.baseclient.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
 
@@ -20,11 +24,16 @@ public class ItemRequestClient extends BaseClient {
 
     @Autowired
     public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
-                             RestTemplateBuilder restTemplateBuilder) {
+                             RestTemplateBuilder restTemplateBuilder,
+                             ClientHttpRequestFactory shareitServerRequestFactory,
+                             ObjectProvider<WebClient> shareitServerWebClient,
+                             MeterRegistry meterRegistry) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .requestFactory(() -> shareitServerRequestFactory)
+                .build(),
+                shareitServerWebClient.getIfAvailable(),
+                meterRegistry
         );
     }
 
@@ -32,24 +41,24 @@ public class ItemRequestClient extends BaseClient {
         super(rest);
     }
 
-    public ResponseEntity<Object> createItemRequest(long userId, ItemRequestCreateDTO itemRequestCreateDTO) {
+    public Mono<ResponseEntity<Object>> createItemRequest(long userId, ItemRequestCreateDTO itemRequestCreateDTO) {
         String path = "";
         return post(path, userId, null,itemRequestCreateDTO);
     }
 
-    public ResponseEntity<Object> getUserRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(long userId) {
         String path = "";
         return get(path, userId,null);
     }
 
-    public ResponseEntity<Object> getAllRequestsExceptUser(long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequestsExceptUser(long userId) {
         String path = "/all";
         return get(path, userId,null);
     }
 
     @GetMapping("/{requestId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, long requestId) {
         String path = String.format("/%d", requestId);
         return get(path, userId,null);
     }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
 
@@ -26,30 +27,31 @@ public class ItemRequestController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                @RequestBody @Valid ItemRequestCreateDTO itemRequestCreateDTO) {
+    public Mono<ResponseEntity<Object>> createRequest(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                      @RequestBody @Valid ItemRequestCreateDTO itemRequestCreateDTO) {
         log.info("Gateway: Received request from userId={} to create item request with parameters {}", userId, itemRequestCreateDTO);
         return itemRequestClient.createItemRequest(userId, itemRequestCreateDTO);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getUserRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getUserRequests(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Gateway: Received request from userId={} to get his/her item requests with answers", userId);
         return itemRequestClient.getUserRequests(userId);
     }
 
     @GetMapping("/all")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getAllRequestsExceptUser(@RequestHeader("X-Sharer-User-Id") @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getAllRequestsExceptUser(
+            @RequestHeader("X-Sharer-User-Id") @Positive long userId) {
         log.info("Gateway: Received request from userId={} to get item requests of all users except his/her", userId);
         return itemRequestClient.getAllRequestsExceptUser(userId);
     }
 
     @GetMapping("/{requestId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getRequestById(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
-                                                    @PathVariable @Positive long requestId) {
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader("X-Sharer-User-Id") @Positive long userId,
+                                                          @PathVariable @Positive long requestId) {
         log.info("Gateway: Received request from userId={} to get item request with id={}", userId, requestId);
         return itemRequestClient.getRequestById(userId,requestId);
     }
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.user.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.baseclient.BaseClient;
 import ru.practicum.shareit.user.dto.UserCreateDTO;
 import ru.practicum.shareit.user.dto.UserUpdateDTO;
@@ -18,11 +22,16 @@ public class UserClient extends BaseClient {
 
     @Autowired
     public UserClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder restTemplateBuilder) {
+                      RestTemplateBuilder restTemplateBuilder,
+                      ClientHttpRequestFactory shareitServerRequestFactory,
+                      ObjectProvider<WebClient> shareitServerWebClient,
+                      MeterRegistry meterRegistry) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
+                .requestFactory(() -> shareitServerRequestFactory)
+                .build(),
+                shareitServerWebClient.getIfAvailable(),
+                meterRegistry
         );
     }
 
@@ -30,27 +39,27 @@ public class UserClient extends BaseClient {
         super(rest);
     }
 
-    public ResponseEntity<Object> createUser(UserCreateDTO user) {
+    public Mono<ResponseEntity<Object>> createUser(UserCreateDTO user) {
         String path = "";
         return post(path, null, null, user);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserUpdateDTO user) {
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserUpdateDTO user) {
         String path = String.format("/%d", userId);
         return patch(path, null, null, user);
     }
 
-    public void deleteUser(Long userId) {
+    public Mono<Void> deleteUser(Long userId) {
         String path = String.format("/%d", userId);
-        delete(path);
+        return delete(path);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
         String path = String.format("/%d", userId);
         return get(path, null, null);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         String path = "";
         return get(path, null, null);
     }
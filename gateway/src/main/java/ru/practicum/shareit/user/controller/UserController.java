@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserCreateDTO;
 import ru.practicum.shareit.user.dto.UserUpdateDTO;
@@ -28,35 +29,35 @@ public class UserController {
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserCreateDTO user) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserCreateDTO user) {
         log.info("Gateway: Received request to create user with parameters {}", user);
         return userClient.createUser(user);
     }
 
     @PatchMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> updateUser(@PathVariable @NonNull Long userId, @RequestBody @Valid UserUpdateDTO user) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable @NonNull Long userId, @RequestBody @Valid UserUpdateDTO user) {
         log.info("Gateway: Received request to update user with id={} and parameters {}", userId, user);
         return userClient.updateUser(userId, user);
     }
 
     @DeleteMapping("/{userId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteUser(@PathVariable @NonNull Long userId) {
+    public Mono<Void> deleteUser(@PathVariable @NonNull Long userId) {
         log.info("Gateway: Received request to delete user with id= {}", userId);
-        userClient.deleteUser(userId);
+        return userClient.deleteUser(userId);
     }
 
     @GetMapping("/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getUser(@PathVariable @NonNull Long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable @NonNull Long userId) {
         log.info("Gateway: Received request to get user with id= {}", userId);
         return userClient.getUser(userId);
     }
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("Gateway: Received request to get all users");
         return userClient.getAllUsers();
     }
@@ -0,0 +1,128 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GatewayLoadHarness {
+    private static final String GUARDED = "guarded";
+    private static final byte[] ITEM = "{\"id\":1,\"name\":\"drill\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<String, List<String>> MODES = Map.of(
+            "platform", List.of("--spring.threads.virtual.enabled=false"),
+            "virtual", List.of("--spring.threads.virtual.enabled=true"),
+            "reactive", List.of("--spring.threads.virtual.enabled=false", "--spring.profiles.active=reactive"),
+            "reactive-virtual", List.of("--spring.threads.virtual.enabled=true", "--spring.profiles.active=reactive"),
+            GUARDED, List.of("--spring.threads.virtual.enabled=true"));
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int upstreamDelayMs = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<String> modes = args.length > 2 ? List.of(args).subList(2, args.length)
+                : List.of("platform", "virtual", "reactive", "reactive-virtual");
+        for (String mode : modes) {
+            run(concurrency, upstreamDelayMs, mode);
+        }
+    }
+
+    private static void run(int concurrency, int upstreamDelayMs, String mode) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("localhost", 0), concurrency);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/", exchange -> respond(exchange, upstreamDelayMs, inFlight, peakInFlight));
+        upstream.start();
+
+        List<String> gatewayArgs = new ArrayList<>(MODES.get(mode));
+        gatewayArgs.addAll(List.of("--server.port=0",
+                "--server.tomcat.max-connections=" + (concurrency + 100),
+                "--server.tomcat.accept-count=" + concurrency,
+                "--shareit-server.url=http://localhost:" + upstream.getAddress().getPort(),
+                "--shareit-server.pool.max-total=" + concurrency,
+                "--shareit-server.pool.max-per-route=" + concurrency,
+                "--shareit-server.reactor.max-connections=" + concurrency,
+                "--shareit-server.resilience.enabled=" + GUARDED.equals(mode),
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=OFF",
+                "--logging.level.org.zalando.logbook=OFF"));
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run(gatewayArgs.toArray(String[]::new));
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(clients)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            URI uri = URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port")
+                    + "/items/1");
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> responses = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                String userId = String.valueOf(i + 1);
+                responses.add(clients.submit(() -> {
+                    start.await();
+                    return httpClient.send(HttpRequest.newBuilder(uri)
+                                    .header("X-Sharer-User-Id", userId)
+                                    .timeout(Duration.ofMinutes(2))
+                                    .build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            int ok = 0;
+            int failed = 0;
+            for (Future<Integer> response : responses) {
+                try {
+                    if (response.get() == 200) {
+                        ok++;
+                    } else {
+                        failed++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                }
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            System.out.printf("%s: %d ok, %d failed in %.2f s (%.0f req/s), peak upstream concurrency %d%n",
+                    mode, ok, failed, seconds, ok / seconds, peakInFlight.get());
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int delayMs, AtomicInteger inFlight,
+                                AtomicInteger peakInFlight) throws IOException {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, ITEM.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(ITEM);
+        }
+    }
+}
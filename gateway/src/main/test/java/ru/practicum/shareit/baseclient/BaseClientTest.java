@@ -1,21 +1,44 @@
 package ru.practicum.shareit.baseclient;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 @ExtendWith(MockitoExtension.class)
 class BaseClientTest {
@@ -23,6 +46,9 @@ class BaseClientTest {
     @Mock
     private RestTemplate rest;
 
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private BaseClient baseClient;
 
@@ -36,7 +62,7 @@ class BaseClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, baseClient.get(null, null, null));
+        assertEquals(response, baseClient.get(null, null, null).block());
     }
 
     @Test
@@ -49,7 +75,7 @@ class BaseClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, baseClient.post(null, null, null, null));
+        assertEquals(response, baseClient.post(null, null, null, null).block());
     }
 
     @Test
@@ -62,7 +88,7 @@ class BaseClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, baseClient.patch(null, null, null, null));
+        assertEquals(response, baseClient.patch(null, null, null, null).block());
     }
 
     @Test
@@ -75,29 +101,187 @@ class BaseClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertDoesNotThrow(() -> baseClient.delete(null));
+        assertDoesNotThrow(() -> baseClient.delete(null).block());
     }
 
     @Test
     public void getTestErrorTest() {
         assertThrows(Throwable.class, () -> baseClient.get(null,
-                null, null));
+                null, null).block());
     }
 
     @Test
     public void postTestErrorTest() {
         assertThrows(Throwable.class, () -> baseClient.post(null,
-                null, null, null));
+                null, null, null).block());
     }
 
     @Test
     public void patchTestErrorTest() {
         assertThrows(Throwable.class, () -> baseClient.patch(null,
-                null, null, null));
+                null, null, null).block());
     }
 
     @Test
     public void deleteTestErrorTest() {
-        assertThrows(Throwable.class, () -> baseClient.delete(null));
+        assertThrows(Throwable.class, () -> baseClient.delete(null).block());
+    }
+
+    @Test
+    public void responseBodyIsPassedThroughAsBytes() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("X-Total-Count", "1");
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = new BaseClient(restTemplate).get("/items/1", 1L, null).block();
+
+        server.verify();
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    public void webClientResponseIsPassedThroughAsBytes() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sent.set(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .header(HttpHeaders.CONNECTION, "keep-alive")
+                            .header("X-Total-Count", "1")
+                            .body("{\"id\":1}")
+                            .build());
+                })
+                .build();
+
+        ResponseEntity<Object> response = new BaseClient(serverRestTemplate(), webClient, new SimpleMeterRegistry())
+                .get("/1", 1L, Map.of("state", "ALL"))
+                .block();
+
+        assertEquals("http://localhost:9090/items/1?state=ALL", sent.get().url().toString());
+        assertEquals(HttpMethod.GET, sent.get().method());
+        assertEquals("1", sent.get().headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    public void webClientErrorResponseIsPassedThrough() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"error\":\"not found\"}")
+                        .build()))
+                .build();
+
+        ResponseEntity<Object> response = new BaseClient(serverRestTemplate(), webClient, new SimpleMeterRegistry())
+                .post("", 1L, null, Map.of("name", "drill"))
+                .block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8),
+                (byte[]) response.getBody());
+    }
+
+    @Test
+    public void coalescedGetsAreCountedOnInjectedRegistry() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new BaseClient(restTemplate, null, registry).get("/items/1", 1L, null).block();
+
+        assertEquals(1, registry.get(RequestCoalescer.REQUESTS_METRIC)
+                .tag("client", "BaseClient")
+                .tag("role", "leader")
+                .counter()
+                .count());
+    }
+
+    @Test
+    public void errorBodyIsPassedThroughWithContentType() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"not found\"}"));
+
+        ResponseEntity<Object> response = new BaseClient(restTemplate).get("/items/1", 1L, null).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8),
+                (byte[]) response.getBody());
+    }
+
+    @Test
+    public void streamTest() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("/owner/export?state=ALL"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new BaseClient(restTemplate).stream("/owner/export", 1L, Map.of("state", "ALL"), response);
+
+        server.verify();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+    }
+
+    @Test
+    public void streamErrorTest() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("/owner/export"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).body("{\"error\":\"not found\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new BaseClient(restTemplate).stream("/owner/export", 1L, null, response);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("{\"error\":\"not found\"}", response.getContentAsString());
+    }
+
+    @Test
+    public void streamCopiesPassThroughHeadersTest() throws Exception {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment().filename("bookings.json").build());
+        headers.add("X-Total-Count", "1");
+        headers.add(HttpHeaders.CONNECTION, "close");
+        server.expect(requestTo("/owner/export"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON).headers(headers));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new BaseClient(restTemplate).stream("/owner/export", 1L, null, response);
+
+        assertEquals("attachment; filename=\"bookings.json\"", response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals("1", response.getHeader("X-Total-Count"));
+        assertNull(response.getHeader(HttpHeaders.CONNECTION));
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+    }
+
+    private static RestTemplate serverRestTemplate() {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.baseclient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer("test", registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        List<Future<ResponseEntity<Object>>> responses = submitAll("/items/1#1", () ->
+                ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body));
+
+        awaitFollowers();
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            assertEquals(HttpStatus.OK, response.get().getStatusCode());
+            assertEquals(MediaType.APPLICATION_JSON, response.get().getHeaders().getContentType());
+            assertArrayEquals(body, (byte[]) response.get().getBody());
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, counter("leader"));
+        assertEquals(CALLERS - 1, counter("follower"));
+    }
+
+    @Test
+    public void upstreamFailureIsFannedOut() throws Exception {
+        List<Future<ResponseEntity<Object>>> responses = submitAll("/items/1#1", () -> {
+            throw new ResourceAccessException("server is down");
+        });
+
+        awaitFollowers();
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> response : responses) {
+            ExecutionException e = assertThrows(ExecutionException.class, response::get);
+            assertInstanceOf(ResourceAccessException.class, e.getCause());
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    public void completedCallIsNotReused() {
+        release.countDown();
+        Supplier<Mono<ResponseEntity<Object>>> call = () -> Mono.fromCallable(() -> {
+            upstreamCalls.incrementAndGet();
+            return ResponseEntity.ok().build();
+        });
+
+        coalescer.execute("/items/1#1", call).block();
+        coalescer.execute("/items/1#1", call).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, counter("follower"));
+    }
+
+    @Test
+    public void waitingCallersDoNotHoldTheSubscribingThread() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            coalescer.execute("/items/1#1", () -> {
+                upstreamCalls.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(responses::add);
+        }
+
+        assertEquals(0, responses.size());
+        upstream.tryEmitValue(ResponseEntity.ok().build());
+
+        assertEquals(CALLERS, responses.size());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(CALLERS - 1, counter("follower"));
+    }
+
+    private List<Future<ResponseEntity<Object>>> submitAll(String key, Supplier<ResponseEntity<Object>> upstream) {
+        List<Future<ResponseEntity<Object>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(executor.submit(() -> coalescer.execute(key, () -> Mono.fromCallable(() -> {
+                upstreamCalls.incrementAndGet();
+                awaitRelease();
+                return upstream.get();
+            })).block()));
+        }
+        return responses;
+    }
+
+    private void awaitFollowers() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter("follower") < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double counter(String role) {
+        return registry.get(RequestCoalescer.REQUESTS_METRIC).tag("role", role).counter().count();
+    }
+}
@@ -0,0 +1,268 @@
+package ru.practicum.shareit.baseclient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.concurrency.limits.limit.FixedLimit;
+import com.netflix.concurrency.limits.limiter.AbstractLimiter;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamGuardInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final BaseClient client = new BaseClient(restTemplate);
+
+    @Test
+    public void requestOverBulkheadIsRejectedWithoutCallingServer() {
+        MockRestServiceServer server = guardedServer(1, 100, endpoint -> limiter(100));
+        server.expect(requestTo("/bookings/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> rejected = whileInFlight("/bookings/owner",
+                () -> client.get("/bookings/owner", 1L, null).block());
+
+        server.verify();
+        assertRejected(rejected, "GET /bookings/owner: bulkhead-full");
+    }
+
+    @Test
+    public void requestOverConcurrencyLimitIsRejected() {
+        MockRestServiceServer server = guardedServer(100, 100, endpoint -> limiter(1));
+        server.expect(requestTo("/bookings/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> rejected = whileInFlight("/bookings/owner",
+                () -> client.get("/bookings/owner", 1L, null).block());
+
+        server.verify();
+        assertRejected(rejected, "GET /bookings/owner: limit-reached");
+        assertEquals(1, meterRegistry.get(UpstreamGuardInterceptor.REJECTED_METRIC)
+                .tag("reason", "limit-reached").counter().count());
+    }
+
+    @Test
+    public void slowEndpointDoesNotConsumeOtherEndpointsBulkhead() {
+        MockRestServiceServer server = guardedServer(1, 100, endpoint -> limiter(100));
+        server.expect(requestTo("/bookings/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = whileInFlight("/bookings/owner",
+                () -> client.get("/items/1", 1L, null).block());
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    public void circuitOpensPerEndpointAfterServerErrors() {
+        MockRestServiceServer server = guardedServer(100, 2, endpoint -> limiter(100));
+        server.expect(ExpectedCount.twice(), requestTo("/items/1"))
+                .andRespond(withServerError());
+        server.expect(requestTo("/items/2/comment"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        client.get("/items/1", 1L, null).block();
+        client.get("/items/1", 1L, null).block();
+        ResponseEntity<Object> rejected = client.get("/items/1", 1L, null).block();
+        ResponseEntity<Object> otherEndpoint = client.post("/items/2/comment", 1L, null, "{}").block();
+
+        server.verify();
+        assertRejected(rejected, "GET /items/{id}: circuit-open");
+        assertEquals("10", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.OK, otherEndpoint.getStatusCode());
+    }
+
+    @Test
+    public void requestOverConcurrencyLimitWaitsForFreeSlot() throws Exception {
+        MockRestServiceServer server = guardedServer(100, CircuitBreakerConfig.ofDefaults(),
+                endpoint -> limiter(1), Duration.ofSeconds(5));
+        server.expect(ExpectedCount.twice(), requestTo("/bookings/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        AtomicReference<CompletableFuture<ResponseEntity<Object>>> waiting = new AtomicReference<>();
+        restTemplate.execute("/bookings/owner", HttpMethod.GET, null, inFlight -> {
+            waiting.set(CompletableFuture.supplyAsync(() -> client.get("/bookings/owner", 1L, null).block()));
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            return null;
+        });
+
+        assertEquals(HttpStatus.OK, waiting.get().get(5, TimeUnit.SECONDS).getStatusCode());
+        server.verify();
+    }
+
+    @Test
+    public void slowStreamingBodyIsNotCountedAsSlowCall() {
+        MockRestServiceServer server = guardedServer(100, CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .slowCallRateThreshold(100)
+                .slowCallDurationThreshold(Duration.ofMillis(50))
+                .build(), endpoint -> limiter(100), Duration.ZERO);
+        server.expect(ExpectedCount.times(3), requestTo("/bookings/owner/export"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.twice(), requestTo("/bookings/owner"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        readSlowly("/bookings/owner/export");
+        readSlowly("/bookings/owner/export");
+        readSlowly("/bookings/owner");
+        readSlowly("/bookings/owner");
+        ResponseEntity<Object> streaming = client.get("/bookings/owner/export", 1L, null).block();
+        ResponseEntity<Object> buffered = client.get("/bookings/owner", 1L, null).block();
+
+        server.verify();
+        assertEquals(HttpStatus.OK, streaming.getStatusCode());
+        assertRejected(buffered, "GET /bookings/owner: circuit-open");
+    }
+
+    @Test
+    public void webClientRequestOverBulkheadIsRejectedWithoutCallingServer() {
+        UpstreamGuardInterceptor guard = guard(1, CircuitBreakerConfig.ofDefaults(), endpoint -> limiter(100),
+                Duration.ZERO);
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        AtomicInteger exchanges = new AtomicInteger();
+        BaseClient reactiveClient = new BaseClient(restTemplate, WebClient.builder()
+                .filter(guard)
+                .exchangeFunction(request -> {
+                    exchanges.incrementAndGet();
+                    return pending.asMono();
+                })
+                .build(), meterRegistry);
+
+        Disposable inFlight = reactiveClient.get("/bookings/owner", 1L, null).subscribe();
+        awaitExchanges(exchanges, 1);
+        ResponseEntity<Object> rejected = reactiveClient.get("/bookings/owner", 2L, null)
+                .block(Duration.ofSeconds(5));
+
+        assertRejected(rejected, "GET /bookings/owner: bulkhead-full");
+        assertEquals(1, exchanges.get());
+        inFlight.dispose();
+    }
+
+    @Test
+    public void webClientPermitIsReleasedAfterBodyOrCancellation() {
+        UpstreamGuardInterceptor guard = guard(1, CircuitBreakerConfig.ofDefaults(), endpoint -> limiter(100),
+                Duration.ZERO);
+        Sinks.One<ClientResponse> pending = Sinks.one();
+        AtomicInteger exchanges = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .filter(guard)
+                .exchangeFunction(request -> exchanges.incrementAndGet() == 1
+                        ? pending.asMono()
+                        : Mono.just(ClientResponse.create(HttpStatus.OK).body("[]").build()))
+                .build();
+
+        Disposable cancelled = webClient.get().uri("/bookings/owner").retrieve().toBodilessEntity().subscribe();
+        awaitExchanges(exchanges, 1);
+        cancelled.dispose();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(HttpStatus.OK, webClient.get().uri("/bookings/owner").retrieve()
+                    .toEntity(String.class)
+                    .block(Duration.ofSeconds(5))
+                    .getStatusCode());
+        }
+        assertEquals(3, exchanges.get());
+    }
+
+    private static void awaitExchanges(AtomicInteger exchanges, int expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (exchanges.get() < expected && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private void readSlowly(String path) {
+        restTemplate.execute(path, HttpMethod.GET, null, response -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            return null;
+        });
+    }
+
+    private MockRestServiceServer guardedServer(int maxConcurrentCalls, int minimumNumberOfCalls,
+                                                Function<String, AbstractLimiter<Void>> limiterFactory) {
+        return guardedServer(maxConcurrentCalls, CircuitBreakerConfig.custom()
+                .slidingWindowSize(minimumNumberOfCalls)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .build(), limiterFactory, Duration.ZERO);
+    }
+
+    private MockRestServiceServer guardedServer(int maxConcurrentCalls, CircuitBreakerConfig circuitBreakerConfig,
+                                                Function<String, AbstractLimiter<Void>> limiterFactory,
+                                                Duration limiterMaxWait) {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        restTemplate.getInterceptors().add(guard(maxConcurrentCalls, circuitBreakerConfig, limiterFactory,
+                limiterMaxWait));
+        return server;
+    }
+
+    private UpstreamGuardInterceptor guard(int maxConcurrentCalls, CircuitBreakerConfig circuitBreakerConfig,
+                                           Function<String, AbstractLimiter<Void>> limiterFactory,
+                                           Duration limiterMaxWait) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new UpstreamGuardInterceptor(circuitBreakers, bulkheads, limiterFactory, limiterMaxWait,
+                Set.of("GET /bookings/owner/export"), meterRegistry, Duration.ofSeconds(10),
+                Schedulers.boundedElastic(), new ObjectMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AbstractLimiter<Void> limiter(int limit) {
+        return SimpleLimiter.newBuilder().limit(FixedLimit.of(limit)).build();
+    }
+
+    private ResponseEntity<Object> whileInFlight(String path, Supplier<ResponseEntity<Object>> call) {
+        AtomicReference<ResponseEntity<Object>> response = new AtomicReference<>();
+        restTemplate.execute(path, HttpMethod.GET, null, inFlight -> {
+            response.set(call.get());
+            return null;
+        });
+        return response.get();
+    }
+
+    private static void assertRejected(ResponseEntity<Object> response, String description) {
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertTrue(new String((byte[]) response.getBody(), StandardCharsets.UTF_8).contains(description));
+    }
+}
@@ -5,18 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import org.mockito.Mockito;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 
 public class BookingClientTest {
@@ -28,6 +38,7 @@ public class BookingClientTest {
     );
     long userId = 1L;
     RestTemplate rest;
+    RestTemplate streamingRest = new RestTemplate();
     BookingClient client;
 
     @BeforeEach
@@ -45,35 +56,35 @@ public class BookingClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.createBooking(userId, bookingCreateDto));
+        assertEquals(response, client.createBooking(userId, bookingCreateDto).block());
     }
 
     @Test
-    void answerBookingRequest() {
-        ResponseEntity<Object> response = new ResponseEntity<>(bookingCreateDto, HttpStatus.CREATED);
+    void createBookings() {
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
         when(rest.exchange(
                 anyString(),
                 ArgumentMatchers.any(HttpMethod.class),
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.answerBookingRequest(userId, 1, true));
+        assertEquals(response, client.createBookings(userId, List.of(bookingCreateDto)).block());
     }
 
     @Test
-    void getBookingStatus() {
-        ResponseEntity<Object> response = new ResponseEntity<>(bookingCreateDto, HttpStatus.CREATED);
+    void answerBookingRequests() {
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
         when(rest.exchange(
                 anyString(),
                 ArgumentMatchers.any(HttpMethod.class),
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getBookingStatus(userId, 1));
+        assertEquals(response, client.answerBookingRequests(userId, List.of(1L, 2L), true).block());
     }
 
     @Test
-    void getAllBookingsOfUser() {
+    void answerBookingRequest() {
         ResponseEntity<Object> response = new ResponseEntity<>(bookingCreateDto, HttpStatus.CREATED);
         when(rest.exchange(
                 anyString(),
@@ -81,11 +92,11 @@ public class BookingClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getAllBookingsOfUser(userId, BookingState.ALL));
+        assertEquals(response, client.answerBookingRequest(userId, 1, true).block());
     }
 
     @Test
-    void getAllBookingsForUserItems() {
+    void getBookingStatus() {
         ResponseEntity<Object> response = new ResponseEntity<>(bookingCreateDto, HttpStatus.CREATED);
         when(rest.exchange(
                 anyString(),
@@ -93,14 +104,47 @@ public class BookingClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getAllBookingsOfUser(userId, BookingState.ALL));
+        assertEquals(response, client.getBookingStatus(userId, 1).block());
+    }
+
+    @Test
+    void getAllBookingsOfUser() throws Exception {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRest).build();
+        server.expect(requestTo(startsWith("?")))
+                .andExpect(queryParam("state", "ALL"))
+                .andExpect(queryParam("size", "10"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new BookingClient(streamingRest).getAllBookingsOfUser(userId, BookingState.ALL, 0, 10, null, response);
+
+        server.verify();
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+    }
+
+    @Test
+    void getAllBookingsForUserItems() throws Exception {
+        MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRest).build();
+        server.expect(requestTo(startsWith("/owner?")))
+                .andExpect(queryParam("after", "5"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).body("{\"error\":\"not found\"}"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new BookingClient(streamingRest).getAllBookingsForUserItems(userId, BookingState.ALL, 0, 10, 5L, response);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        assertEquals("{\"error\":\"not found\"}", response.getContentAsString());
     }
 
     @Test
     public void createBookingErrorTest() {
         Long userId = null;
         assertThrows(Throwable.class, () -> client.createBooking(userId,
-                null));
+                null).block());
     }
 
     @Test
@@ -109,7 +153,7 @@ public class BookingClientTest {
         Boolean isApproved = null;
         Long bookingId = null;
         assertThrows(Throwable.class, () -> client.answerBookingRequest(userId,
-                bookingId, isApproved));
+                bookingId, isApproved).block());
     }
 
     @Test
@@ -117,18 +161,20 @@ public class BookingClientTest {
         Long userId = null;
         Long bookingId = null;
         assertThrows(Throwable.class, () -> client.getBookingStatus(userId,
-                bookingId));
+                bookingId).block());
     }
 
     @Test
     public void getAllBookingsOfUserErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getAllBookingsOfUser(userId, null));
+        assertThrows(Throwable.class, () -> client.getAllBookingsOfUser(userId, null, 0, 10, null,
+                new MockHttpServletResponse()));
     }
 
     @Test
     public void getAllBookingsForUserItemsErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getAllBookingsForUserItems(userId, null));
+        assertThrows(Throwable.class, () -> client.getAllBookingsForUserItems(userId, null, 0, 10, null,
+                new MockHttpServletResponse()));
     }
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -9,6 +10,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingState;
@@ -20,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.Matchers.is;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +33,8 @@ import java.util.List;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 
 @WebMvcTest(controllers = BookingController.class)
@@ -41,19 +49,21 @@ public class BookingControllerTest {
     @Autowired
     private MockMvc mvc;
 
+    private final LocalDateTime start = LocalDate.now().plusDays(1).atTime(12, 12, 12);
+
     private final BookingCreateDto bookingCreateDto = new BookingCreateDto(
             1L,
-            LocalDateTime.of(2024, 12, 1, 12, 12, 12),
-            LocalDateTime.of(2025, 12, 1, 12, 12, 12)
+            start,
+            start.plusYears(1)
     );
 
     @Test
     void createBooking() throws Exception {
         ResponseEntity<Object> response = new ResponseEntity<>(bookingCreateDto, HttpStatus.CREATED);
         when(bookingClient.createBooking(anyLong(), any()))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mvc.perform(post("/bookings")
+        performAsync(post("/bookings")
                         .header("X-Sharer-User-Id", "1")
                         .content(mapper.writeValueAsString(bookingCreateDto))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -73,9 +83,9 @@ public class BookingControllerTest {
         long bookingId = 1;
 
         when(bookingClient.answerBookingRequest(1L, bookingId, isApproved))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mvc.perform(patch("/bookings/" + bookingId + "?approved=" + isApproved)
+        performAsync(patch("/bookings/" + bookingId + "?approved=" + isApproved)
                         .header("X-Sharer-User-Id", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.itemId", is(bookingCreateDto.getItemId()), Long.class))
@@ -90,9 +100,9 @@ public class BookingControllerTest {
         long bookingId = 1;
 
         when(bookingClient.getBookingStatus(1L, bookingId))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mvc.perform(get("/bookings/" + bookingId)
+        performAsync(get("/bookings/" + bookingId)
                         .header("X-Sharer-User-Id", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.itemId", is(bookingCreateDto.getItemId()), Long.class))
@@ -106,18 +116,19 @@ public class BookingControllerTest {
         List<BookingCreateDto> bookingList = new ArrayList<>();
         BookingCreateDto bookingCreateDto2 = new BookingCreateDto(
                 2L,
-                LocalDateTime.of(2024, 12, 1, 12, 12, 12),
-                LocalDateTime.of(2025, 12, 1, 12, 12, 12)
+                start,
+                start.plusYears(1)
         );
         bookingList.add(bookingCreateDto2);
         bookingList.add(bookingCreateDto);
 
-        ResponseEntity<Object> response = new ResponseEntity<>(bookingList, HttpStatus.OK);
         BookingState state = BookingState.ALL;
-
-
-        when(bookingClient.getAllBookingsOfUser(1L, BookingState.ALL))
-                .thenReturn(response);
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(5);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            mapper.writeValue(response.getOutputStream(), bookingList);
+            return null;
+        }).when(bookingClient).getAllBookingsOfUser(eq(1L), eq(BookingState.ALL), eq(0), eq(10), isNull(), any());
 
         mvc.perform(get("/bookings?state=" + state.toString())
                         .header("X-Sharer-User-Id", "1"))
@@ -133,18 +144,19 @@ public class BookingControllerTest {
         List<BookingCreateDto> bookingList = new ArrayList<>();
         BookingCreateDto bookingCreateDto2 = new BookingCreateDto(
                 2L,
-                LocalDateTime.of(2024, 12, 1, 12, 12, 12),
-                LocalDateTime.of(2025, 12, 1, 12, 12, 12)
+                start,
+                start.plusYears(1)
         );
         bookingList.add(bookingCreateDto2);
         bookingList.add(bookingCreateDto);
 
-        ResponseEntity<Object> response = new ResponseEntity<>(bookingList, HttpStatus.OK);
         BookingState state = BookingState.ALL;
-
-
-        when(bookingClient.getAllBookingsForUserItems(1L, BookingState.ALL))
-                .thenReturn(response);
+        doAnswer(invocation -> {
+            HttpServletResponse response = invocation.getArgument(5);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            mapper.writeValue(response.getOutputStream(), bookingList);
+            return null;
+        }).when(bookingClient).getAllBookingsForUserItems(eq(1L), eq(BookingState.ALL), eq(0), eq(10), isNull(), any());
 
         mvc.perform(get("/bookings/owner?state=" + state.toString())
                         .header("X-Sharer-User-Id", "1"))
@@ -154,4 +166,78 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].end", is(bookingCreateDto2.getEnd().toString())));
         verify(bookingClient, atMost(3)).createBooking(1L, bookingCreateDto);
     }
+
+    @Test
+    void bookingListingsRejectOversizedPages() throws Exception {
+        mvc.perform(get("/bookings?size=101")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/bookings/owner?size=101")
+                        .header("X-Sharer-User-Id", "1"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void createBookings() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<BookingCreateDto> bookings = List.of(new BookingCreateDto(1L, start, start.plusDays(1)),
+                new BookingCreateDto(2L, start, start.plusDays(1)));
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
+        when(bookingClient.createBookings(1L, bookings)).thenReturn(Mono.just(response));
+
+        performAsync(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(mapper.writeValueAsString(bookings))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(bookingClient, times(1)).createBookings(1L, bookings);
+    }
+
+    @Test
+    void createBookingsRejectsInvalidBatch() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingCreateDto> bookings = List.of(new BookingCreateDto(-1L, start, start.plusDays(1)));
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(mapper.writeValueAsString(bookings))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", "1")
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void answerBookingRequests() throws Exception {
+        List<Long> bookingIds = List.of(1L, 2L);
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
+        when(bookingClient.answerBookingRequests(1L, bookingIds, true)).thenReturn(Mono.just(response));
+
+        performAsync(patch("/bookings/batch?approved=true")
+                        .header("X-Sharer-User-Id", "1")
+                        .content(mapper.writeValueAsString(bookingIds))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/bookings/batch?approved=true")
+                        .header("X-Sharer-User-Id", "1")
+                        .content("[0]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, times(1)).answerBookingRequests(1L, bookingIds, true);
+        verifyNoMoreInteractions(bookingClient);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(result));
+    }
 }
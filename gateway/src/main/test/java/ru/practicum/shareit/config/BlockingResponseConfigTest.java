@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.client.UserClient;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+@Import(BlockingResponseConfig.class)
+class BlockingResponseConfigTest {
+
+    @MockBean
+    private UserClient userClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void responseIsWrittenWithoutAsyncDispatch() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.OK)
+                .header("X-Total-Count", "1")
+                .body(List.of(Map.of("name", "Anna")));
+        when(userClient.getAllUsers()).thenReturn(Mono.just(response));
+
+        mockMvc.perform(get("/users"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].name", is("Anna")));
+    }
+
+    @Test
+    void emptyResponseKeepsDeclaredStatus() throws Exception {
+        when(userClient.deleteUser(2L)).thenReturn(Mono.empty());
+
+        mockMvc.perform(delete("/users/2"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void upstreamErrorIsPassedThrough() throws Exception {
+        when(userClient.getUser(2L)).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new UserCreateDTO("Anna", "anna@mail.ru"))));
+
+        mockMvc.perform(get("/users/2"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.email", is("anna@mail.ru")));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class HttpClientPoolConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(HttpClientPoolConfig.class)
+            .withPropertyValues("shareit-server.connect-timeout=5s",
+                    "shareit-server.pool.max-total=40",
+                    "shareit-server.pool.max-per-route=20");
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("[]".getBytes());
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void clientsShareOneConfiguredPool() {
+        contextRunner.run(context -> {
+            assertInstanceOf(HttpComponentsClientHttpRequestFactory.class,
+                    context.getBean(ClientHttpRequestFactory.class));
+            PoolingHttpClientConnectionManager connectionManager =
+                    context.getBean(PoolingHttpClientConnectionManager.class);
+            assertEquals(40, connectionManager.getMaxTotal());
+            assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        });
+    }
+
+    @Test
+    void poolStateIsExportedAsMetrics() {
+        contextRunner.run(context -> {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            context.getBean(MeterBinder.class).bindTo(registry);
+            RestTemplate rest = new RestTemplate(context.getBean(ClientHttpRequestFactory.class));
+
+            ResponseEntity<byte[]> response = rest.getForEntity("http://localhost:" + server.getAddress().getPort()
+                    + "/items", byte[].class);
+
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(40, gauge(registry, "httpcomponents.httpclient.pool.total.max", null));
+            assertEquals(0, gauge(registry, "httpcomponents.httpclient.pool.total.connections", "leased"));
+            assertEquals(1, gauge(registry, "httpcomponents.httpclient.pool.total.connections", "available"));
+            assertEquals(0, gauge(registry, "httpcomponents.httpclient.pool.total.pending", null));
+        });
+    }
+
+    private static double gauge(MeterRegistry registry, String name, String state) {
+        var search = registry.find(name).tag("httpclient", HttpClientPoolConfig.POOL_NAME);
+        if (state != null) {
+            search = search.tag("state", state);
+        }
+        return search.gauge().value();
+    }
+}
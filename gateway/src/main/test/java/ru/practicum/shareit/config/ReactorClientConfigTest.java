@@ -0,0 +1,52 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactorClientConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(WebClientAutoConfiguration.class))
+            .withUserConfiguration(ReactorClientConfig.class, HttpClientPoolConfig.class)
+            .withPropertyValues("shareit-server.connect-timeout=5s");
+
+    @Test
+    void reactiveProfileUsesSharedReactorNettyPool() {
+        contextRunner.withPropertyValues("spring.profiles.active=reactive",
+                        "shareit-server.reactor.max-connections=64",
+                        "shareit-server.reactor.protocols=h2c")
+                .run(context -> {
+                    assertInstanceOf(ReactorNettyClientRequestFactory.class,
+                            context.getBean(ClientHttpRequestFactory.class));
+                    assertEquals(64, context.getBean(ConnectionProvider.class).maxConnections());
+                    assertArrayEquals(new HttpProtocol[]{HttpProtocol.H2C},
+                            context.getBean(HttpClient.class).configuration().protocols());
+                    assertEquals(1, context.getBeansOfType(WebClient.class).size());
+                });
+    }
+
+    @Test
+    void defaultProfileUsesHttpComponentsPool() {
+        contextRunner.run(context -> {
+            assertInstanceOf(HttpComponentsClientHttpRequestFactory.class,
+                    context.getBean(ClientHttpRequestFactory.class));
+            assertTrue(context.getBeansOfType(WebClient.class).isEmpty());
+        });
+    }
+}
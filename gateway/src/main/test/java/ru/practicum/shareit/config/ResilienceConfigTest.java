@@ -0,0 +1,57 @@
+package ru.practicum.shareit.config;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.scheduler.Scheduler;
+import ru.practicum.shareit.baseclient.UpstreamGuardInterceptor;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilienceConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withUserConfiguration(ResilienceConfig.class);
+
+    @Test
+    void guardIsAddedToClientRestTemplates() {
+        contextRunner.withPropertyValues("shareit-server.resilience.bulkhead.max-concurrent-calls=30",
+                        "shareit-server.resilience.circuit-breaker.wait-duration-in-open-state=20s")
+                .run(context -> {
+                    RestTemplate restTemplate = new RestTemplate();
+                    context.getBean(RestTemplateCustomizer.class).customize(restTemplate);
+
+                    assertInstanceOf(UpstreamGuardInterceptor.class, restTemplate.getInterceptors().get(0));
+                    assertEquals(30, context.getBean(BulkheadRegistry.class).getDefaultConfig()
+                            .getMaxConcurrentCalls());
+                    assertEquals(20_000L, context.getBean(CircuitBreakerRegistry.class).getDefaultConfig()
+                            .getWaitIntervalFunctionInOpenState().apply(1));
+                });
+    }
+
+    @Test
+    void admissionSchedulerIsDisposedWithContext() {
+        AtomicReference<Scheduler> scheduler = new AtomicReference<>();
+        contextRunner.run(context -> scheduler.set(context.getBean(Scheduler.class)));
+
+        assertTrue(scheduler.get().isDisposed());
+    }
+
+    @Test
+    void guardCanBeDisabled() {
+        contextRunner.withPropertyValues("shareit-server.resilience.enabled=false")
+                .run(context -> assertEquals(0, context.getBeansOfType(RestTemplateCustomizer.class).size()));
+    }
+}
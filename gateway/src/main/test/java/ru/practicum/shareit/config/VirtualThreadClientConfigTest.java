@@ -0,0 +1,32 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class VirtualThreadClientConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(HttpClientPoolConfig.class, VirtualThreadClientConfig.class)
+            .withPropertyValues("shareit-server.connect-timeout=5s",
+                    "shareit-server.pool.response-timeout=30s");
+
+    @Test
+    void platformThreadsUsePooledHttpComponentsClient() {
+        contextRunner.run(context -> assertInstanceOf(HttpComponentsClientHttpRequestFactory.class,
+                context.getBean(ClientHttpRequestFactory.class)));
+    }
+
+    @Test
+    void virtualThreadsSwitchToUnboundedJdkClient() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertInstanceOf(JdkClientHttpRequestFactory.class,
+                        context.getBean(ClientHttpRequestFactory.class)));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.item.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.config.CacheConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(classes = {CacheConfig.class, ItemClientCacheTest.Config.class})
+class ItemClientCacheTest {
+
+    @Autowired
+    private ItemClient client;
+
+    @Autowired
+    private RestTemplate rest;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.reset(rest);
+        cacheManager.getCache(ItemClient.SEARCH_CACHE).clear();
+    }
+
+    @Test
+    void searchItemsIsCachedByNormalizedTextAndPage() {
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of("item"), HttpStatus.OK);
+        when(rest.exchange(
+                anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenReturn(response);
+
+        assertEquals(response, client.searchItems(1, "Drill", 0, 10).block());
+        assertEquals(response, client.searchItems(2, "dRILL", 0, 10).block());
+        assertEquals(response, client.searchItems(2, " drill\t", 0, 10).block());
+        client.searchItems(1, "drill", 10, 10).block();
+        client.searchItems(1, "drill  Bit", 0, 10).block();
+        client.searchItems(1, " drill bit ", 0, 10).block();
+
+        verify(rest, times(1)).exchange(
+                ArgumentMatchers.<String>argThat(uri -> "drill".equals(textOf(uri)) && uri.contains("from=0")),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any());
+        verify(rest, times(1)).exchange(
+                ArgumentMatchers.<String>argThat(uri -> "drill bit".equals(textOf(uri))),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any());
+        verify(rest, times(3)).exchange(anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any());
+    }
+
+    @Test
+    void failedSearchIsNotCached() {
+        when(rest.exchange(
+                anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        assertEquals(HttpStatus.BAD_REQUEST, client.searchItems(1, "drill", 0, 10).block().getStatusCode());
+        client.searchItems(1, "drill", 0, 10).block();
+
+        verify(rest, times(2)).exchange(anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any());
+    }
+
+    private static String textOf(String uri) {
+        return UriComponentsBuilder.fromUriString(uri).build().getQueryParams().getFirst("text");
+    }
+
+    @Configuration
+    static class Config {
+        @Bean
+        CacheManager cacheManager(CacheManagerCustomizer<CaffeineCacheManager> asyncCaffeineCacheManager) {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager(ItemClient.SEARCH_CACHE);
+            asyncCaffeineCacheManager.customize(cacheManager);
+            return cacheManager;
+        }
+
+        @Bean
+        RestTemplate rest() {
+            return Mockito.mock(RestTemplate.class);
+        }
+
+        @Bean
+        ItemClient itemClient(RestTemplate rest) {
+            return new ItemClient(rest);
+        }
+    }
+}
@@ -12,6 +12,9 @@ import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -44,7 +47,7 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.createItem(userId, item));
+        assertEquals(response, client.createItem(userId, item).block());
     }
 
     @Test
@@ -56,7 +59,7 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.updateItem(userId, itemId, itemUpd));
+        assertEquals(response, client.updateItem(userId, itemId, itemUpd).block());
     }
 
     @Test
@@ -68,7 +71,7 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getItem(userId, itemId));
+        assertEquals(response, client.getItem(userId, itemId).block());
     }
 
     @Test
@@ -80,7 +83,7 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getAllItems(userId));
+        assertEquals(response, client.getAllItems(userId).block());
     }
 
     @Test
@@ -92,7 +95,20 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.searchItems("sss"));
+        assertEquals(response, client.searchItems(1, "sss", 0, 10).block());
+    }
+
+    @Test
+    void getItemAvailability() {
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
+        when(rest.exchange(
+                anyString(),
+                ArgumentMatchers.any(HttpMethod.class),
+                ArgumentMatchers.any(),
+                ArgumentMatchers.<Class<Object>>any()))
+                .thenReturn(response);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        assertEquals(response, client.getItemAvailability(userId, itemId, from, from.plusDays(7)).block());
     }
 
     @Test
@@ -104,44 +120,44 @@ class ItemClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.addComment(userId, itemId, comment));
+        assertEquals(response, client.addComment(userId, itemId, comment).block());
     }
 
     @Test
     public void createItemErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.createItem(userId, null));
+        assertThrows(Throwable.class, () -> client.createItem(userId, null).block());
     }
 
     @Test
     public void updateItemErrorTest() {
         Long userId = null;
         Long itemId = null;
-        assertThrows(Throwable.class, () -> client.updateItem(userId, itemId, null));
+        assertThrows(Throwable.class, () -> client.updateItem(userId, itemId, null).block());
     }
 
     @Test
     public void getItemErrorTest() {
         Long userId = null;
         Long itemId = null;
-        assertThrows(Throwable.class, () -> client.getItem(userId, itemId));
+        assertThrows(Throwable.class, () -> client.getItem(userId, itemId).block());
     }
 
     @Test
     public void getAllItemsErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getAllItems(userId));
+        assertThrows(Throwable.class, () -> client.getAllItems(userId).block());
     }
 
     @Test
     public void searchItemsErrorTest() {
-        assertThrows(Throwable.class, () -> client.searchItems("null"));
+        assertThrows(Throwable.class, () -> client.searchItems(1, "null", 0, 10).block());
     }
 
     @Test
     public void addCommentErrorTest() {
         Long userId = null;
         Long itemId = null;
-        assertThrows(Throwable.class, () -> client.addComment(userId, itemId, null));
+        assertThrows(Throwable.class, () -> client.addComment(userId, itemId, null).block());
     }
 }
\ No newline at end of file
@@ -9,6 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
@@ -20,12 +24,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.Matchers.is;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @WebMvcTest(controllers = ItemController.class)
 class ItemControllerTest {
@@ -47,9 +54,9 @@ class ItemControllerTest {
     void createItem() throws Exception {
         ResponseEntity<Object> response = new ResponseEntity<>(item, HttpStatus.CREATED);
         when(itemClient.createItem(userId, item))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(post("/items")
+        performAsync(post("/items")
                         .header(userIdHeader, userId)
                         .content(mapper.writeValueAsString(item))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -69,9 +76,9 @@ class ItemControllerTest {
         ItemUpdateDTO updateItem = new ItemUpdateDTO("upd", "upd", true);
         ResponseEntity<Object> response = new ResponseEntity<>(updateItem, HttpStatus.OK);
         when(itemClient.updateItem(userId, itemId, updateItem))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(patch("/items/" + itemId)
+        performAsync(patch("/items/" + itemId)
                         .header(userIdHeader, userId)
                         .content(mapper.writeValueAsString(updateItem))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -87,11 +94,13 @@ class ItemControllerTest {
 
     @Test
     void getItem() throws Exception {
-        ResponseEntity<Object> response = new ResponseEntity<>(item, HttpStatus.OK);
+        ResponseEntity<Object> response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(mapper.writeValueAsBytes(item));
         when(itemClient.getItem(userId, itemId))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/items/" + itemId)
+        performAsync(get("/items/" + itemId)
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name", is(item.getName())))
@@ -110,9 +119,9 @@ class ItemControllerTest {
         itemList.add(item);
         ResponseEntity<Object> response = new ResponseEntity<>(itemList, HttpStatus.OK);
         when(itemClient.getAllItems(userId))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/items")
+        performAsync(get("/items")
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is(item2.getName())))
@@ -130,26 +139,34 @@ class ItemControllerTest {
         itemList.add(item2);
         itemList.add(item);
         ResponseEntity<Object> response = new ResponseEntity<>(itemList, HttpStatus.OK);
-        when(itemClient.searchItems("sssss")).thenReturn(response);
+        when(itemClient.searchItems(userId, "sssss", 0, 10)).thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/items/search?text=sssss")
+        performAsync(get("/items/search?text=sssss")
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name", is(item2.getName())))
                 .andExpect(jsonPath("$[0].description", is(item2.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(item2.getAvailable()), Boolean.class))
                 .andExpect(jsonPath("$[0].requestId", is(item2.getRequestId()), Long.class));
-        verify(itemClient, times(1)).searchItems("sssss");
+        verify(itemClient, times(1)).searchItems(userId, "sssss", 0, 10);
         verifyNoMoreInteractions(itemClient);
     }
 
+    @Test
+    void searchItemsRejectsOversizedPage() throws Exception {
+        mockMvc.perform(get("/items/search?text=sssss&size=101")
+                        .header(userIdHeader, userId))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemClient);
+    }
+
     @Test
     void addComment() throws Exception {
         CommentCreateDTO comment = new CommentCreateDTO("saxsdxa");
         ResponseEntity<Object> response = new ResponseEntity<>(comment, HttpStatus.CREATED);
-        when(itemClient.addComment(userId, itemId, comment)).thenReturn(response);
+        when(itemClient.addComment(userId, itemId, comment)).thenReturn(Mono.just(response));
 
-        mockMvc.perform(post("/items/" + itemId + "/comment")
+        performAsync(post("/items/" + itemId + "/comment")
                         .header(userIdHeader, userId)
                         .content(mapper.writeValueAsString(comment))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -160,4 +177,37 @@ class ItemControllerTest {
         verify(itemClient, times(1)).addComment(userId, itemId, comment);
         verifyNoMoreInteractions(itemClient);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        ResponseEntity<Object> response = new ResponseEntity<>(List.of(), HttpStatus.OK);
+        when(itemClient.getItemAvailability(userId, itemId, from, to)).thenReturn(Mono.just(response));
+
+        performAsync(get("/items/" + itemId + "/availability")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header(userIdHeader, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        verify(itemClient, times(1)).getItemAvailability(userId, itemId, from, to);
+        verifyNoMoreInteractions(itemClient);
+    }
+
+    @Test
+    void getItemAvailabilityRequiresRange() throws Exception {
+        mockMvc.perform(get("/items/" + itemId + "/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .header(userIdHeader, userId))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(itemClient);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -38,7 +38,7 @@ class ItemRequestClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.createItemRequest(userId, request));
+        assertEquals(response, client.createItemRequest(userId, request).block());
     }
 
     @Test
@@ -50,7 +50,7 @@ class ItemRequestClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getUserRequests(userId));
+        assertEquals(response, client.getUserRequests(userId).block());
     }
 
     @Test
@@ -62,7 +62,7 @@ class ItemRequestClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getAllRequestsExceptUser(userId));
+        assertEquals(response, client.getAllRequestsExceptUser(userId).block());
     }
 
     @Test
@@ -74,26 +74,26 @@ class ItemRequestClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getRequestById(userId, requestId));
+        assertEquals(response, client.getRequestById(userId, requestId).block());
     }
 
     @Test
     public void createItemRequestErrorTest() {
         Long userId = null;
         assertThrows(Throwable.class, () -> client.createItemRequest(userId,
-                null));
+                null).block());
     }
 
     @Test
     public void getUserRequestsErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getUserRequests(userId));
+        assertThrows(Throwable.class, () -> client.getUserRequests(userId).block());
     }
 
     @Test
     public void getAllRequestsExceptUserErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getAllRequestsExceptUser(userId));
+        assertThrows(Throwable.class, () -> client.getAllRequestsExceptUser(userId).block());
     }
 
     @Test
@@ -101,6 +101,6 @@ class ItemRequestClientTest {
         Long userId = null;
         Long requestId = null;
         assertThrows(Throwable.class, () -> client.getRequestById(userId,
-                requestId));
+                requestId).block());
     }
 }
\ No newline at end of file
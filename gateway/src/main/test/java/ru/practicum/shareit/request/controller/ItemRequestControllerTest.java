@@ -9,6 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
 
@@ -25,6 +29,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @WebMvcTest(controllers = ItemRequestController.class)
 class ItemRequestControllerTest {
@@ -48,9 +54,9 @@ class ItemRequestControllerTest {
         ResponseEntity<Object> response = new ResponseEntity<>(request, HttpStatus.CREATED);
 
         when(mockItemRequestClient.createItemRequest(userId, request))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(post("/requests")
+        performAsync(post("/requests")
                         .header(userIdHeader, userId)
                         .content(mapper.writeValueAsString(request))
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -71,9 +77,9 @@ class ItemRequestControllerTest {
 
         ResponseEntity<Object> response = new ResponseEntity<>(requestList, HttpStatus.OK);
         when(mockItemRequestClient.getUserRequests(userId))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/requests")
+        performAsync(get("/requests")
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].description", is(request2.getDescription())));
@@ -89,9 +95,9 @@ class ItemRequestControllerTest {
         requestList.add(request);
 
         ResponseEntity<Object> response = new ResponseEntity<>(requestList, HttpStatus.OK);
-        when(mockItemRequestClient.getAllRequestsExceptUser(userId)).thenReturn(response);
+        when(mockItemRequestClient.getAllRequestsExceptUser(userId)).thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/requests/all")
+        performAsync(get("/requests/all")
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].description", is(request2.getDescription())));
@@ -102,9 +108,9 @@ class ItemRequestControllerTest {
     @Test
     void getRequestById() throws Exception {
         ResponseEntity<Object> response = new ResponseEntity<>(request, HttpStatus.OK);
-        when(mockItemRequestClient.getRequestById(userId, requestId)).thenReturn(response);
+        when(mockItemRequestClient.getRequestById(userId, requestId)).thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/requests/" + requestId)
+        performAsync(get("/requests/" + requestId)
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.description", is(request.getDescription())));
@@ -112,4 +118,10 @@ class ItemRequestControllerTest {
         verifyNoMoreInteractions(mockItemRequestClient);
     }
 
-}
\ No newline at end of file
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -40,7 +40,7 @@ class UserClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.createUser(user));
+        assertEquals(response, client.createUser(user).block());
     }
 
     @Test
@@ -52,7 +52,7 @@ class UserClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.updateUser(userId, userUpd));
+        assertEquals(response, client.updateUser(userId, userUpd).block());
     }
 
     @Test
@@ -64,7 +64,7 @@ class UserClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getUser(userId));
+        assertEquals(response, client.getUser(userId).block());
     }
 
     @Test
@@ -76,23 +76,23 @@ class UserClientTest {
                 ArgumentMatchers.any(),
                 ArgumentMatchers.<Class<Object>>any()))
                 .thenReturn(response);
-        assertEquals(response, client.getAllUsers());
+        assertEquals(response, client.getAllUsers().block());
     }
 
     @Test
     public void createUserErrorTest() {
-        assertThrows(Throwable.class, () -> client.createUser(null));
+        assertThrows(Throwable.class, () -> client.createUser(null).block());
     }
 
     @Test
     public void updateUserErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.updateUser(userId, null));
+        assertThrows(Throwable.class, () -> client.updateUser(userId, null).block());
     }
 
     @Test
     public void getUserErrorTest() {
         Long userId = null;
-        assertThrows(Throwable.class, () -> client.getUser(userId));
+        assertThrows(Throwable.class, () -> client.getUser(userId).block());
     }
 }
\ No newline at end of file
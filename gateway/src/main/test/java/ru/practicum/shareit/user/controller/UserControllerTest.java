@@ -9,6 +9,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserCreateDTO;
 import ru.practicum.shareit.user.dto.UserUpdateDTO;
@@ -28,6 +32,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @WebMvcTest(controllers = UserController.class)
 class UserControllerTest {
@@ -48,9 +54,9 @@ class UserControllerTest {
     void createUserTest() throws Exception {
         ResponseEntity<Object> response = new ResponseEntity<>(user, HttpStatus.CREATED);
         when(mockedUserClient.createUser(user))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(post("/users")
+        performAsync(post("/users")
                         .content(mapper.writeValueAsString(user))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -67,9 +73,9 @@ class UserControllerTest {
         UserUpdateDTO updateDTO = new UserUpdateDTO("Anna", "anna@mail.ru");
         ResponseEntity<Object> response = new ResponseEntity<>(updateDTO, HttpStatus.OK);
         when(mockedUserClient.updateUser(userId, updateDTO))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(patch("/users/" + userId)
+        performAsync(patch("/users/" + userId)
                         .content(mapper.writeValueAsString(updateDTO))
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -83,7 +89,10 @@ class UserControllerTest {
 
     @Test
     void deleteUserTest() throws Exception {
-        mockMvc.perform(delete("/users/" + userId))
+        when(mockedUserClient.deleteUser(userId))
+                .thenReturn(Mono.empty());
+
+        performAsync(delete("/users/" + userId))
                 .andExpect(status().isNoContent());
         verify(mockedUserClient, times(1)).deleteUser(userId);
         verifyNoMoreInteractions(mockedUserClient);
@@ -93,9 +102,9 @@ class UserControllerTest {
     void getCorrectUser() throws Exception {
         ResponseEntity<Object> response = new ResponseEntity<>(user, HttpStatus.OK);
         when(mockedUserClient.getUser(userId))
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/users/" + userId))
+        performAsync(get("/users/" + userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.email", is(user.getEmail())))
                 .andExpect(jsonPath("$.name", is(user.getName())));
@@ -111,13 +120,20 @@ class UserControllerTest {
         userList.add(user);
         ResponseEntity<Object> response = new ResponseEntity<>(userList, HttpStatus.OK);
         when(mockedUserClient.getAllUsers())
-                .thenReturn(response);
+                .thenReturn(Mono.just(response));
 
-        mockMvc.perform(get("/users"))
+        performAsync(get("/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].email", is(user2.getEmail())))
                 .andExpect(jsonPath("$[0].name", is(user2.getName())));
         verify(mockedUserClient, times(1)).getAllUsers();
         verifyNoMoreInteractions(mockedUserClient);
     }
-}
\ No newline at end of file
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,11 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -26,6 +34,7 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -35,6 +44,13 @@ public class BookingController {
         return bookingService.createBooking(userId, booking);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @RequestBody List<BookingCreateDto> bookings) {
+        log.info("Received request from user id={} for {} bookings", userId, bookings.size());
+        return bookingService.createBookings(userId, bookings);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto answerBookingRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                            @PathVariable("bookingId") long bookingId,
@@ -43,6 +59,15 @@ public class BookingController {
         return bookingService.answerBookingRequest(userId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDto> answerBookingRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestParam(name = "approved") Boolean isApproved,
+                                                  @RequestBody List<Long> bookingIds) {
+        log.info("Received request from user id={} to save answer \"{}\" for bookings with ids={}",
+                userId, isApproved, bookingIds);
+        return bookingService.answerBookingRequests(userId, bookingIds, isApproved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingStatus(@RequestHeader("X-Sharer-User-Id") long userId,
                                        @PathVariable("bookingId") long bookingId) {
@@ -53,17 +78,48 @@ public class BookingController {
     @GetMapping
     public List<BookingDto> getAllBookingsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
                                                  @RequestParam(name = "state",
-                                                         defaultValue = "ALL") BookingState state) {
-        log.info("Received request to get all bookings from user id={} and state {}", userId, state);
-        return bookingService.getAllBookingsOfUser(userId, state);
+                                                         defaultValue = "ALL") BookingState state,
+                                                 @RequestParam(name = "from", defaultValue = "0") int from,
+                                                 @RequestParam(name = "size", defaultValue = "10") int size,
+                                                 @RequestParam(name = "after", required = false) Long after) {
+        log.info("Received request to get bookings from user id={} and state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+        return bookingService.getAllBookingsOfUser(userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
     public List<BookingDto> getAllBookingsForUserItems(@RequestHeader("X-Sharer-User-Id") long userId,
                                                        @RequestParam(name = "state",
-                                                               defaultValue = "ALL") BookingState state) {
-        log.info("Received request to get all bookings for items of user id={} and state {}", userId, state);
-        return bookingService.getAllBookingsForUserItems(userId, state);
+                                                               defaultValue = "ALL") BookingState state,
+                                                       @RequestParam(name = "from", defaultValue = "0") int from,
+                                                       @RequestParam(name = "size", defaultValue = "10") int size,
+                                                       @RequestParam(name = "after", required = false) Long after) {
+        log.info("Received request to get bookings for items of user id={} and state {}, from={}, size={}, after={}",
+                userId, state, from, size, after);
+        return bookingService.getAllBookingsForUserItems(userId, state, from, size, after);
     }
 
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportAllBookingsForUserItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") BookingState state) {
+        log.info("Received request to export bookings for items of user id={} and state {}", userId, state);
+        bookingService.validateIfUserNotExists(userId);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                bookingService.exportAllBookingsForUserItems(userId, state, booking -> {
+                    try {
+                        generator.writeObject(booking);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.interval;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(long bookingId, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+}
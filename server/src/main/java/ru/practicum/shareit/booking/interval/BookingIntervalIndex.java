@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.interval;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.PrimaryReads;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+@Component
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final PrimaryReads primaryReads;
+    private final Duration history;
+    private final Cache<Long, Object> items;
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                PrimaryReads primaryReads,
+                                @Value("${shareit.booking-index.maximum-size}") long maximumSize,
+                                @Value("${shareit.booking-index.time-to-live}") Duration timeToLive,
+                                @Value("${shareit.booking-index.history}") Duration history) {
+        this.bookingRepository = bookingRepository;
+        this.primaryReads = primaryReads;
+        this.history = history;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public void bookingCreated(long itemId, BookingInterval interval) {
+        afterCommit(itemId, intervals -> {
+            intervals.remove(interval.bookingId());
+            intervals.put(interval);
+            return true;
+        });
+    }
+
+    public void bookingAnswered(long itemId, long bookingId, BookingStatus status) {
+        afterCommit(itemId, intervals -> intervals.update(bookingId, status));
+    }
+
+    public List<BusyInterval> getBusyIntervals(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<BusyInterval> busy = new ArrayList<>();
+        for (BookingInterval interval : getIntervals(itemId, from).between(from, to)) {
+            LocalDateTime start = interval.start().isBefore(from) ? from : interval.start();
+            LocalDateTime end = interval.end().isAfter(to) ? to : interval.end();
+            BusyInterval last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+            if (last != null && !start.isAfter(last.end())) {
+                busy.set(busy.size() - 1, new BusyInterval(last.start(), end.isAfter(last.end()) ? end : last.end()));
+            } else {
+                busy.add(new BusyInterval(start, end));
+            }
+        }
+        return busy;
+    }
+
+    private ItemIntervals getIntervals(long itemId, LocalDateTime from) {
+        if (items.getIfPresent(itemId) instanceof CachedIntervals cached && !from.isBefore(cached.loadedFrom())) {
+            return cached.intervals();
+        }
+        LocalDateTime loadFrom = LocalDateTime.now().minus(history);
+        if (from.isBefore(loadFrom)) {
+            return new ItemIntervals(bookingRepository.getActiveBookingIntervals(itemId, from));
+        }
+        Object pending = items.asMap().compute(itemId, (id, current) ->
+                current instanceof PendingLoad ? current : new PendingLoad());
+        ItemIntervals intervals = new ItemIntervals(primaryReads.read(() ->
+                bookingRepository.getActiveBookingIntervals(itemId, loadFrom)));
+        items.asMap().replace(itemId, pending, new CachedIntervals(intervals, loadFrom));
+        return intervals;
+    }
+
+    private void afterCommit(long itemId, Predicate<ItemIntervals> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(itemId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(itemId, change);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    items.invalidate(itemId);
+                }
+            }
+        });
+    }
+
+    private void apply(long itemId, Predicate<ItemIntervals> change) {
+        items.asMap().computeIfPresent(itemId, (id, current) -> {
+            if (!(current instanceof CachedIntervals cached)) {
+                return null;
+            }
+            ItemIntervals intervals = cached.intervals().copy();
+            return change.test(intervals) ? new CachedIntervals(intervals, cached.loadedFrom()) : null;
+        });
+    }
+
+    private record CachedIntervals(ItemIntervals intervals, LocalDateTime loadedFrom) {
+    }
+
+    private static final class PendingLoad {
+    }
+}
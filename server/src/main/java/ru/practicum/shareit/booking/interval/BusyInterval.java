@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.interval;
+
+import java.time.LocalDateTime;
+
+public record BusyInterval(LocalDateTime start, LocalDateTime end) {
+}
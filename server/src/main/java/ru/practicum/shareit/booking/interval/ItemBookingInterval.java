@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.interval;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingInterval(long itemId, long bookingId, LocalDateTime start, LocalDateTime end,
+                                  BookingStatus status) {
+    public BookingInterval toInterval() {
+        return new BookingInterval(bookingId, start, end, status);
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.interval;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+public class ItemIntervals {
+    private static final Comparator<BookingInterval> ORDER = Comparator.comparing(BookingInterval::start)
+            .thenComparing(BookingInterval::end)
+            .thenComparingLong(BookingInterval::bookingId);
+
+    private final NavigableSet<BookingInterval> intervals = new TreeSet<>(ORDER);
+    private Duration longest = Duration.ZERO;
+
+    public ItemIntervals(Collection<BookingInterval> intervals) {
+        intervals.forEach(this::put);
+    }
+
+    public static BookingConflictException overlapConflict(BookingInterval overlapping) {
+        return new BookingConflictException(String.format(
+                "Booking dates overlap booking with id=%d from %s to %s",
+                overlapping.bookingId(), overlapping.start(), overlapping.end()));
+    }
+
+    public void add(BookingInterval interval) {
+        checkAvailable(interval.start(), interval.end());
+        put(interval);
+    }
+
+    ItemIntervals copy() {
+        return new ItemIntervals(intervals);
+    }
+
+    void put(BookingInterval interval) {
+        intervals.add(interval);
+        Duration length = Duration.between(interval.start(), interval.end());
+        if (length.compareTo(longest) > 0) {
+            longest = length;
+        }
+    }
+
+    boolean remove(long bookingId) {
+        return intervals.removeIf(interval -> interval.bookingId() == bookingId);
+    }
+
+    boolean update(long bookingId, BookingStatus status) {
+        BookingInterval current = intervals.stream()
+                .filter(interval -> interval.bookingId() == bookingId)
+                .findFirst()
+                .orElse(null);
+        if (current == null) {
+            return false;
+        }
+        intervals.remove(current);
+        if (status != BookingStatus.REJECTED) {
+            put(new BookingInterval(bookingId, current.start(), current.end(), status));
+        }
+        return true;
+    }
+
+    public void checkAvailable(LocalDateTime start, LocalDateTime end) {
+        List<BookingInterval> overlapping = between(start, end);
+        if (!overlapping.isEmpty()) {
+            throw overlapConflict(overlapping.get(0));
+        }
+    }
+
+    List<BookingInterval> between(LocalDateTime from, LocalDateTime to) {
+        List<BookingInterval> result = new ArrayList<>();
+        for (BookingInterval interval : intervals.subSet(probe(from.minus(longest)), true, probe(to), false)) {
+            if (interval.end().isAfter(from)) {
+                result.add(interval);
+            }
+        }
+        return result;
+    }
+
+    private static BookingInterval probe(LocalDateTime start) {
+        return new BookingInterval(Long.MIN_VALUE, start, LocalDateTime.MIN, null);
+    }
+}
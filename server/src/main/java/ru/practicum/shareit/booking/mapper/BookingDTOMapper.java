@@ -5,15 +5,22 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingView;
 import ru.practicum.shareit.item.dto.item.ItemDTO;
+import ru.practicum.shareit.item.mapper.CommentDTOMapper;
 import ru.practicum.shareit.item.mapper.ItemDTOMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentView;
 import ru.practicum.shareit.user.dto.UserDTO;
 import ru.practicum.shareit.user.mapper.UserDTOMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -22,10 +29,11 @@ public class BookingDTOMapper {
 
     public static Booking fromCreateDTO(User user, Item item, BookingCreateDto booking) {
         return Booking.builder()
-                .start(booking.getStart())
-                .end(booking.getEnd())
+                .start(toStoredPrecision(booking.getStart()))
+                .end(toStoredPrecision(booking.getEnd()))
                 .item(item)
                 .booker(user)
+                .ownerId(item.getOwner().getId())
                 .build();
     }
 
@@ -42,4 +50,55 @@ public class BookingDTOMapper {
                 .build();
     }
 
+    public static BookingDto toDTOWithCommentViews(Booking booking, List<CommentView> comments) {
+        Item item = booking.getItem();
+        ItemDTO itemDTO = ItemDTO.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.isAvailable())
+                .comments(comments.stream()
+                        .map(CommentDTOMapper::toDTO)
+                        .toList())
+                .build();
+        return BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(itemDTO)
+                .booker(UserDTOMapper.toDTO(booking.getBooker()))
+                .status(booking.getStatus())
+                .build();
+    }
+
+    public static BookingDto toDTO(BookingView booking, Collection<CommentView> comments) {
+        ItemDTO itemDTO = ItemDTO.builder()
+                .id(booking.itemId())
+                .name(booking.itemName())
+                .description(booking.itemDescription())
+                .available(booking.itemAvailable())
+                .comments(comments.stream()
+                        .map(CommentDTOMapper::toDTO)
+                        .toList())
+                .build();
+        UserDTO userDTO = new UserDTO(booking.bookerId(), booking.bookerName(), booking.bookerEmail());
+        return BookingDto.builder()
+                .id(booking.id())
+                .start(booking.start())
+                .end(booking.end())
+                .item(itemDTO)
+                .booker(userDTO)
+                .status(booking.status())
+                .build();
+    }
+
+    public static List<BookingDto> toDTO(Collection<BookingView> bookings, Map<Long, List<CommentView>> commentMap) {
+        return bookings.stream()
+                .map(booking -> toDTO(booking, commentMap.getOrDefault(booking.itemId(), List.of())))
+                .toList();
+    }
+
+    private static LocalDateTime toStoredPrecision(LocalDateTime dateTime) {
+        return dateTime.plusNanos(500_000_000).truncatedTo(ChronoUnit.SECONDS);
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.projection;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+public record BookingView(long id,
+                          LocalDateTime start,
+                          LocalDateTime end,
+                          BookingStatus status,
+                          long itemId,
+                          String itemName,
+                          String itemDescription,
+                          boolean itemAvailable,
+                          long bookerId,
+                          String bookerName,
+                          String bookerEmail) {
+}
@@ -1,89 +1,247 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+import ru.practicum.shareit.booking.interval.ItemBookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @Query("""
+            SELECT b.start
+            FROM Booking AS b
+            WHERE b.id=:bookingId
+            """)
+    Optional<LocalDateTime> findStartById(long bookingId);
 
-    List<Booking> findByBookerIdOrderByStartAsc(long userId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(long bookingId);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartAsc(long userId, LocalDateTime z);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.id IN :bookingIds
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getBookingViewsByIds(Collection<Long> bookingIds);
 
-    List<Booking> findByBookerIdAndStartAfterAndEndBeforeOrderByStartAsc(long userId, LocalDateTime y,
-                                                                         LocalDateTime z);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking AS b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id = :bookingId
+            AND b.status = 'WAITING'
+            """)
+    int updateWaitingBookingStatus(long bookingId, BookingStatus status);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartAsc(long userId, LocalDateTime z);
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.interval.ItemBookingInterval(i.id, b.id, b.start, b.end, b.status)
+            FROM Booking AS b
+            JOIN b.item AS i
+            WHERE b.id IN :bookingIds
+            AND b.status = 'WAITING'
+            AND i.owner.id = :ownerId
+            """)
+    List<ItemBookingInterval> getWaitingBookingIntervalsOfOwner(long ownerId, Collection<Long> bookingIds);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartAsc(long userId, BookingStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking AS b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id IN :bookingIds
+            AND b.status = 'WAITING'
+            AND b.item.id IN (SELECT i.id FROM Item AS i WHERE i.owner.id = :ownerId)
+            """)
+    int updateWaitingBookingsStatus(long ownerId, Collection<Long> bookingIds, BookingStatus status);
 
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.booker.id=:userId
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getAllBookingsOfUser(long userId, LocalDateTime afterStart, long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
-            ORDER BY b.start ASC
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.booker.id=:userId
+            AND b.end<:now
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getAllBookingsForUserItems(long userId);
+    List<BookingView> getPastBookingsOfUser(long userId, LocalDateTime now,
+                                            LocalDateTime afterStart, long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.booker.id=:userId
+            AND b.start>:now
+            AND b.end<:now
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getCurrentBookingsOfUser(long userId, LocalDateTime now,
+                                               LocalDateTime afterStart, long afterId, Pageable page);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.booker.id=:userId
+            AND b.start>:now
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getFutureBookingsOfUser(long userId, LocalDateTime now,
+                                              LocalDateTime afterStart, long afterId, Pageable page);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.booker.id=:userId
+            AND b.status=:status
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getBookingsOfUserByStatus(long userId, BookingStatus status,
+                                                LocalDateTime afterStart, long afterId, Pageable page);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getAllBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                 long afterId, Pageable page);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
             AND b.end<CURRENT_TIMESTAMP
-            ORDER BY b.start ASC
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getPastBookingsForUserItems(long userId);
+    List<BookingView> getPastBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                  long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
             AND b.start>CURRENT_TIMESTAMP
             AND b.end<CURRENT_TIMESTAMP
-            ORDER BY b.start ASC
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getCurrentBookingsForUserItems(long userId);
+    List<BookingView> getCurrentBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                     long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
             AND b.start>CURRENT_TIMESTAMP
-            ORDER BY b.start ASC
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getFutureBookingsForUserItems(long userId);
+    List<BookingView> getFutureBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                    long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
             AND b.status='REJECTED'
-            ORDER BY b.start ASC
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getRejectedBookingsForUserItems(long userId);
+    List<BookingView> getRejectedBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                      long afterId, Pageable page);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
             AND b.status='WAITING'
-            ORDER BY b.start ASC
+            AND (b.start>:afterStart OR (b.start=:afterStart AND b.id>:afterId))
+            ORDER BY b.start ASC, b.id ASC
+            """)
+    List<BookingView> getWaitingBookingsForUserItems(long userId, LocalDateTime afterStart,
+                                                     long afterId, Pageable page);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end, b.status,
+            i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+            FROM Booking AS b
+            JOIN b.item AS i
+            JOIN b.booker AS u
+            WHERE b.ownerId=:userId
+            AND (:state='ALL'
+            OR (:state='PAST' AND b.end<CURRENT_TIMESTAMP)
+            OR (:state='CURRENT' AND b.start>CURRENT_TIMESTAMP AND b.end<CURRENT_TIMESTAMP)
+            OR (:state='FUTURE' AND b.start>CURRENT_TIMESTAMP)
+            OR (:state='REJECTED' AND b.status='REJECTED')
+            OR (:state='WAITING' AND b.status='WAITING'))
+            ORDER BY b.start ASC, b.id ASC
             """)
-    List<Booking> getWaitingBookingsForUserItems(long userId);
+    Stream<BookingView> streamBookingsForUserItems(long userId, String state);
 
     @Query("""
             SELECT CASE WHEN COUNT(b)> 0 THEN TRUE ELSE FALSE END
@@ -98,7 +256,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             SELECT b
             FROM Booking AS b
             JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            WHERE b.ownerId=:userId
             AND i.id = :itemId
             AND b.end < CURRENT_TIMESTAMP
             ORDER BY b.end DESC
@@ -110,17 +268,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             SELECT b
             FROM Booking AS b
             JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
-            AND i.id IN :itemIds
-            AND b.end < CURRENT_TIMESTAMP
-            """)
-    List<Booking> getAllLastBookings(long userId, Collection<Long> itemIds);
-
-    @Query("""
-            SELECT b
-            FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
+            WHERE b.ownerId=:userId
             AND i.id = :itemId
             AND b.start > CURRENT_TIMESTAMP
             AND b.status != 'REJECTED'
@@ -130,13 +278,41 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> getNextBookingForItemOwnedByUser(long userId, long itemId);
 
     @Query("""
-            SELECT b
+            SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.start, b.end, b.status)
             FROM Booking AS b
-            JOIN FETCH b.item AS i
-            WHERE i.owner.id=:userId
-            AND i.id IN :itemIds
-            AND b.start > CURRENT_TIMESTAMP
+            WHERE b.item.id = :itemId
+            AND b.status != 'REJECTED'
+            AND b.end > :endingAfter
+            """)
+    List<BookingInterval> getActiveBookingIntervals(long itemId, LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.interval.ItemBookingInterval(b.item.id, b.id, b.start, b.end,
+            b.status)
+            FROM Booking AS b
+            WHERE b.item.id IN :itemIds
             AND b.status != 'REJECTED'
+            AND b.end > :endingAfter
+            """)
+    List<ItemBookingInterval> getActiveBookingIntervals(Collection<Long> itemIds, LocalDateTime endingAfter);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.interval.BookingInterval(b.id, b.start, b.end, b.status)
+            FROM Booking AS b
+            WHERE b.item.id = :itemId
+            AND b.status != 'REJECTED'
+            AND b.end > :start
+            AND b.start < :end
+            ORDER BY b.start ASC, b.id ASC
+            LIMIT 1
+            """)
+    Optional<BookingInterval> getFirstOverlappingBookingInterval(long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("""
+            SELECT MIN(CASE WHEN b.start > CURRENT_TIMESTAMP THEN b.start ELSE b.end END)
+            FROM Booking AS b
+            WHERE b.item.id = :itemId
+            AND b.end > CURRENT_TIMESTAMP
             """)
-    List<Booking> getAllNextBooking(long userId, Collection<Long> itemIds);
+    Optional<LocalDateTime> getNextBookingBoundary(long itemId);
 }
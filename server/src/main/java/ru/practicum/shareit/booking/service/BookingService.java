@@ -1,21 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
     BookingDto createBooking(long userId, BookingCreateDto booking);
 
+    List<BookingBatchResultDto> createBookings(long userId, List<BookingCreateDto> bookings);
+
     BookingDto answerBookingRequest(long userId, long bookingId, boolean isApproved);
 
+    List<BookingDto> answerBookingRequests(long userId, Collection<Long> bookingIds, boolean isApproved);
+
     BookingDto getBookingStatus(long userId, long bookingId);
 
-    List<BookingDto> getAllBookingsOfUser(long userId, BookingState state);
+    List<BookingDto> getAllBookingsOfUser(long userId, BookingState state, int from, int size, Long after);
+
+    List<BookingDto> getAllBookingsForUserItems(long userId, BookingState state, int from, int size, Long after);
+
+    void exportAllBookingsForUserItems(long userId, BookingState state, Consumer<BookingDto> consumer);
 
-    List<BookingDto> getAllBookingsForUserItems(long userId, BookingState state);
+    void validateIfUserNotExists(long userId);
 
 }
@@ -2,27 +2,53 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.interval.BookingInterval;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.booking.interval.ItemBookingInterval;
+import ru.practicum.shareit.booking.interval.ItemIntervals;
 import ru.practicum.shareit.booking.mapper.BookingDTOMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.RetryOnConcurrentUpdate;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InternalServerException;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
@@ -32,51 +58,187 @@ import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final LocalDateTime FIRST_PAGE_START = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     @Transactional
     public BookingDto createBooking(long userId, BookingCreateDto newBooking) {
+        validateBookingDates(newBooking);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("User with id=%d does not exists", userId)));
         long itemId = newBooking.getItemId();
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findLockedById(itemId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("Item with id=%d does not exists", itemId)));
         if (!item.isAvailable()) {
             throw new InternalServerException(String.format("Item with id=%d is not available", itemId));
         }
         Booking booking = BookingDTOMapper.fromCreateDTO(user, item, newBooking);
+        bookingRepository.getFirstOverlappingBookingInterval(itemId, booking.getStart(), booking.getEnd())
+                .ifPresent(overlapping -> {
+                    throw ItemIntervals.overlapConflict(overlapping);
+                });
         booking.setStatus(WAITING);
-        Booking createdBooking = bookingRepository.save(booking);
+        Booking createdBooking = saveBooking(booking);
+        bookingIntervalIndex.bookingCreated(itemId, toInterval(createdBooking));
+        itemDetailsCache.evict(itemId);
         log.info("{} was created", createdBooking);
         Collection<Comment> itemComments = commentRepository.findByItemId(item.getId());
         return BookingDTOMapper.toDTO(createdBooking, itemComments);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createBookings(long userId, List<BookingCreateDto> newBookings) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IdNotFoundException(String.format("User with id=%d does not exists", userId)));
+        Set<Long> itemIds = newBookings.stream()
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findLockedByIdIn(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, ItemIntervals> bookedIntervals = getBookedIntervals(items.keySet(), newBookings);
+        List<BookingBatchResultDto> results = new ArrayList<>(newBookings.size());
+        Map<Integer, Booking> createdBookings = new HashMap<>();
+        for (int i = 0; i < newBookings.size(); i++) {
+            BookingCreateDto newBooking = newBookings.get(i);
+            results.add(BookingBatchResultDto.builder().index(i).build());
+            try {
+                createdBookings.put(i, addBooking(user, items.get(newBooking.getItemId()), newBooking,
+                        bookedIntervals));
+            } catch (IdNotFoundException | InternalServerException | IllegalArgumentException
+                     | BookingConflictException e) {
+                results.get(i).setError(e.getMessage());
+            }
+        }
+        flushBookings();
+        Map<Long, List<CommentView>> comments = getCommentsMap(createdBookings.values()
+                .stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet()));
+        createdBookings.forEach((index, booking) -> results.get(index).setBooking(
+                BookingDTOMapper.toDTOWithCommentViews(booking, comments.getOrDefault(booking.getItem().getId(), List.of()))));
+        createdBookings.values().forEach(booking ->
+                bookingIntervalIndex.bookingCreated(booking.getItem().getId(), toInterval(booking)));
+        createdBookings.values()
+                .stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemDetailsCache::evict);
+        log.info("{} of {} bookings were created by user id={}", createdBookings.size(), newBookings.size(), userId);
+        return results;
+    }
+
+    private Map<Long, ItemIntervals> getBookedIntervals(Collection<Long> itemIds,
+                                                        List<BookingCreateDto> newBookings) {
+        LocalDateTime earliestStart = newBookings.stream()
+                .map(BookingCreateDto::getStart)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        if (itemIds.isEmpty() || earliestStart == null) {
+            return new HashMap<>();
+        }
+        Map<Long, List<BookingInterval>> loaded = bookingRepository.getActiveBookingIntervals(itemIds, earliestStart)
+                .stream()
+                .collect(Collectors.groupingBy(ItemBookingInterval::itemId,
+                        Collectors.mapping(ItemBookingInterval::toInterval, Collectors.toList())));
+        return itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        itemId -> new ItemIntervals(loaded.getOrDefault(itemId, List.of()))));
+    }
+
+    private Booking addBooking(User user, Item item, BookingCreateDto newBooking,
+                               Map<Long, ItemIntervals> bookedIntervals) {
+        validateBookingDates(newBooking);
+        if (item == null) {
+            throw new IdNotFoundException(String.format("Item with id=%d does not exists", newBooking.getItemId()));
+        }
+        if (!item.isAvailable()) {
+            throw new InternalServerException(String.format("Item with id=%d is not available", item.getId()));
+        }
+        Booking booking = BookingDTOMapper.fromCreateDTO(user, item, newBooking);
+        ItemIntervals intervals = bookedIntervals.computeIfAbsent(item.getId(), itemId -> new ItemIntervals(List.of()));
+        intervals.checkAvailable(booking.getStart(), booking.getEnd());
+        booking.setStatus(WAITING);
+        Booking createdBooking = bookingRepository.save(booking);
+        intervals.add(toInterval(createdBooking));
+        return createdBooking;
+    }
+
     @Transactional
     @Override
+    @RetryOnConcurrentUpdate
     public BookingDto answerBookingRequest(long userId, long bookingId, boolean isApproved) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new IdNotFoundException(
                         String.format("Booking with id=%d does not exists", bookingId)));
+        long itemId = booking.getItem().getId();
         if (booking.getItem().getOwner().getId() != userId) {
             throw new InternalServerException(
                     String.format("User with id=%d does not have booking with id=%d", userId, bookingId));
         }
-        booking.setStatus(isApproved ? APPROVED : REJECTED);
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("User saved answer {} for {} ", isApproved, savedBooking);
-        Collection<Comment> itemComments = commentRepository.findByItemId(savedBooking.getItem().getId());
-        return BookingDTOMapper.toDTO(savedBooking, itemComments);
+        BookingStatus status = isApproved ? APPROVED : REJECTED;
+        if (booking.getStatus() != WAITING) {
+            if (booking.getStatus() != status) {
+                throw new BookingConflictException(
+                        String.format("Booking with id=%d is already %s", bookingId, booking.getStatus()));
+            }
+            return BookingDTOMapper.toDTO(booking, commentRepository.findByItemId(itemId));
+        }
+        if (bookingRepository.updateWaitingBookingStatus(bookingId, status) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, bookingId);
+        }
+        booking.setStatus(status);
+        bookingIntervalIndex.bookingAnswered(itemId, bookingId, status);
+        itemDetailsCache.evict(itemId);
+        log.info("User saved answer {} for {} ", isApproved, booking);
+        Collection<Comment> itemComments = commentRepository.findByItemId(itemId);
+        return BookingDTOMapper.toDTO(booking, itemComments);
+    }
+
+    @Override
+    @Transactional
+    @RetryOnConcurrentUpdate
+    public List<BookingDto> answerBookingRequests(long userId, Collection<Long> bookingIds, boolean isApproved) {
+        validateIfUserNotExists(userId);
+        List<ItemBookingInterval> waitingBookings = bookingRepository.getWaitingBookingIntervalsOfOwner(userId,
+                bookingIds);
+        if (waitingBookings.isEmpty()) {
+            return List.of();
+        }
+        BookingStatus status = isApproved ? APPROVED : REJECTED;
+        List<Long> waitingIds = waitingBookings.stream()
+                .map(ItemBookingInterval::bookingId)
+                .toList();
+        int updated = bookingRepository.updateWaitingBookingsStatus(userId, waitingIds, status);
+        if (updated != waitingIds.size()) {
+            throw new ConcurrencyFailureException("Some of the bookings were answered concurrently");
+        }
+        waitingBookings.forEach(booking ->
+                bookingIntervalIndex.bookingAnswered(booking.itemId(), booking.bookingId(), status));
+        waitingBookings.stream()
+                .map(ItemBookingInterval::itemId)
+                .distinct()
+                .forEach(itemDetailsCache::evict);
+        log.info("User id={} saved answer {} for bookings {}", userId, isApproved, waitingIds);
+        List<BookingView> bookings = bookingRepository.getBookingViewsByIds(waitingIds);
+        return BookingDTOMapper.toDTO(bookings, getCommentsMapByItemIds(bookings));
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Transactional(readOnly = true)
     public BookingDto getBookingStatus(long userId, long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new IdNotFoundException(
                         String.format("Booking with id=%d does not exists", bookingId)));
         if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
@@ -88,49 +250,136 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
-    public List<BookingDto> getAllBookingsOfUser(long userId, BookingState state) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingsOfUser(long userId, BookingState state, int from, int size, Long after) {
         validateIfUserNotExists(userId);
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.findByBookerIdOrderByStartAsc(userId);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartAsc(userId, LocalDateTime.now());
-            case CURRENT -> bookingRepository.findByBookerIdAndStartAfterAndEndBeforeOrderByStartAsc(userId,
-                    LocalDateTime.now(), LocalDateTime.now());
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartAsc(userId, LocalDateTime.now());
-            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartAsc(userId, REJECTED);
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartAsc(userId, WAITING);
+        LocalDateTime afterStart = getCursorStart(after);
+        long afterId = getCursorId(after);
+        Pageable page = OffsetPageRequest.of(from, size);
+        List<BookingView> bookings = switch (state) {
+            case ALL -> bookingRepository.getAllBookingsOfUser(userId, afterStart, afterId, page);
+            case PAST -> bookingRepository.getPastBookingsOfUser(userId, LocalDateTime.now(),
+                    afterStart, afterId, page);
+            case CURRENT -> bookingRepository.getCurrentBookingsOfUser(userId, LocalDateTime.now(),
+                    afterStart, afterId, page);
+            case FUTURE -> bookingRepository.getFutureBookingsOfUser(userId, LocalDateTime.now(),
+                    afterStart, afterId, page);
+            case REJECTED -> bookingRepository.getBookingsOfUserByStatus(userId, REJECTED, afterStart, afterId, page);
+            case WAITING -> bookingRepository.getBookingsOfUserByStatus(userId, WAITING, afterStart, afterId, page);
         };
-        return bookings.stream()
-                .map((Booking booking) -> {
-                    Collection<Comment> itemComments = commentRepository.findByItemId(booking.getItem().getId());
-                    return BookingDTOMapper.toDTO(booking, itemComments);
-                })
-                .toList();
-
+        return BookingDTOMapper.toDTO(bookings, getCommentsMapByItemIds(bookings));
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
-    public List<BookingDto> getAllBookingsForUserItems(long userId, BookingState state) {
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllBookingsForUserItems(long userId, BookingState state, int from, int size,
+                                                       Long after) {
         validateIfUserNotExists(userId);
-        List<Booking> bookings = switch (state) {
-            case ALL -> bookingRepository.getAllBookingsForUserItems(userId);
-            case PAST -> bookingRepository.getPastBookingsForUserItems(userId);
-            case CURRENT -> bookingRepository.getCurrentBookingsForUserItems(userId);
-            case FUTURE -> bookingRepository.getFutureBookingsForUserItems(userId);
-            case REJECTED -> bookingRepository.getRejectedBookingsForUserItems(userId);
-            case WAITING -> bookingRepository.getWaitingBookingsForUserItems(userId);
+        LocalDateTime afterStart = getCursorStart(after);
+        long afterId = getCursorId(after);
+        Pageable page = OffsetPageRequest.of(from, size);
+        List<BookingView> bookings = switch (state) {
+            case ALL -> bookingRepository.getAllBookingsForUserItems(userId, afterStart, afterId, page);
+            case PAST -> bookingRepository.getPastBookingsForUserItems(userId, afterStart, afterId, page);
+            case CURRENT -> bookingRepository.getCurrentBookingsForUserItems(userId, afterStart, afterId, page);
+            case FUTURE -> bookingRepository.getFutureBookingsForUserItems(userId, afterStart, afterId, page);
+            case REJECTED -> bookingRepository.getRejectedBookingsForUserItems(userId, afterStart, afterId, page);
+            case WAITING -> bookingRepository.getWaitingBookingsForUserItems(userId, afterStart, afterId, page);
         };
-        return bookings.stream()
-                .map((Booking booking) -> {
-                    Collection<Comment> itemComments = commentRepository.findByItemId(booking.getItem().getId());
-                    return BookingDTOMapper.toDTO(booking, itemComments);
-                })
-                .toList();
+        return BookingDTOMapper.toDTO(bookings, getCommentsMapByItemIds(bookings));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllBookingsForUserItems(long userId, BookingState state, Consumer<BookingDto> consumer) {
+        validateIfUserNotExists(userId);
+        try (Stream<BookingView> bookings = bookingRepository.streamBookingsForUserItems(userId, state.name())) {
+            List<BookingView> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            bookings.forEach(booking -> {
+                chunk.add(booking);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            });
+            exportChunk(chunk, consumer);
+        }
+    }
+
+    private void exportChunk(List<BookingView> chunk, Consumer<BookingDto> consumer) {
+        BookingDTOMapper.toDTO(chunk, getCommentsMapByItemIds(chunk)).forEach(consumer);
+        chunk.clear();
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BookingConflictException(String.format(
+                        "Item with id=%d is already booked for the requested dates", booking.getItem().getId()));
+            }
+            throw e;
+        }
+    }
+
+    private void flushBookings() {
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BookingConflictException("Some of the requested dates are already booked");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isExclusionViolation(DataIntegrityViolationException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
+    }
+
+    private BookingInterval toInterval(Booking booking) {
+        return new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+
+    private void validateBookingDates(BookingCreateDto booking) {
+        if (booking.getStart() == null || booking.getEnd() == null || !booking.getEnd().isAfter(booking.getStart())) {
+            throw new IllegalArgumentException("Booking end must be after booking start");
+        }
+    }
+
+    private LocalDateTime getCursorStart(Long after) {
+        if (after == null) {
+            return FIRST_PAGE_START;
+        }
+        return bookingRepository.findStartById(after)
+                .orElseThrow(() -> new IdNotFoundException(
+                        String.format("Booking with id=%d does not exists", after)));
+    }
+
+    private long getCursorId(Long after) {
+        return after == null ? 0 : after;
+    }
+
+    private Map<Long, List<CommentView>> getCommentsMapByItemIds(Collection<BookingView> bookings) {
+        return getCommentsMap(bookings.stream()
+                .map(BookingView::itemId)
+                .collect(Collectors.toSet()));
+    }
+
+    private Map<Long, List<CommentView>> getCommentsMap(Set<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository.getCommentViewsByItemIds(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(CommentView::itemId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public void validateIfUserNotExists(long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new IdNotFoundException(String.format("User with id=%d does not exists", userId));
         }
     }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.cache.ItemDetailsExpiry;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.item-cache.maximum-size}") long maximumSize,
+                                     @Value("${shareit.item-cache.time-to-live}") Duration timeToLive) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(ItemDetailsCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ItemDetailsExpiry(timeToLive))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
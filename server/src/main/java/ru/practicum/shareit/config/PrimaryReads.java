@@ -0,0 +1,30 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+@Component
+public class PrimaryReads {
+    private final TransactionTemplate transactionTemplate;
+    private final boolean replicaEnabled;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager,
+                        @Value("${shareit.datasource.replica.enabled:false}") boolean replicaEnabled) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicaEnabled = replicaEnabled;
+    }
+
+    public <T> T read(Supplier<T> query) {
+        if (replicaEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return transactionTemplate.execute(status -> query.get());
+        }
+        return query.get();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaAwareJpaTransactionManager extends JpaTransactionManager {
+
+    public ReplicaAwareJpaTransactionManager(EntityManagerFactory entityManagerFactory) {
+        super(entityManagerFactory);
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        EntityManager entityManager = ((EntityManagerHolder) TransactionSynchronizationManager
+                .getResource(obtainEntityManagerFactory())).getEntityManager();
+        CacheStoreMode storeMode = definition.isReadOnly() ? CacheStoreMode.BYPASS : CacheStoreMode.USE;
+        entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, storeMode);
+        entityManager.unwrap(Session.class).setCacheStoreMode(storeMode);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(retryFor = ConcurrencyFailureException.class,
+        maxAttemptsExpression = "${shareit.retry.max-attempts}",
+        backoff = @Backoff(delayExpression = "${shareit.retry.delay}",
+                maxDelayExpression = "${shareit.retry.max-delay}",
+                multiplier = 2,
+                random = true))
+public @interface RetryOnConcurrentUpdate {
+}
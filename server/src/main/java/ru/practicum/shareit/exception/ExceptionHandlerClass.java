@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -32,6 +33,20 @@ public class ExceptionHandlerClass {
         return new ErrorResponse(ex.getMessage(), null);
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(BookingConflictException.class)
+    public ErrorResponse handleBookingConflictException(BookingConflictException ex) {
+        log.info("{}", ex.getMessage());
+        return new ErrorResponse(ex.getMessage(), null);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ErrorResponse handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        log.info("{}", ex.getMessage());
+        return new ErrorResponse("Resource was modified concurrently, please retry", null);
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler(InternalServerException.class)
     public ErrorResponse handleInternalServerException(InternalServerException ex) {
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.cache;
+
+import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
+
+import java.time.LocalDateTime;
+
+public record CachedItem(ItemDTOWithBookings item, LocalDateTime validUntil) {
+}
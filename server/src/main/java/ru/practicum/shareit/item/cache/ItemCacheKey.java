@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.cache;
+
+public record ItemCacheKey(long itemId, boolean owner) {
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class ItemDetailsCache {
+    public static final String CACHE_NAME = "itemDetails";
+
+    private final Cache<Object, Object> cache;
+    private final Timer hitTimer;
+    private final Timer missTimer;
+
+    @SuppressWarnings("unchecked")
+    public ItemDetailsCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cache = (Cache<Object, Object>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+        this.hitTimer = meterRegistry.timer("shareit.item.details", "cache", "hit");
+        this.missTimer = meterRegistry.timer("shareit.item.details", "cache", "miss");
+    }
+
+    public ItemDTOWithBookings get(long itemId, boolean owner, Supplier<CachedItem> loader) {
+        long start = System.nanoTime();
+        ItemCacheKey key = new ItemCacheKey(itemId, owner);
+        if (cache.getIfPresent(key) instanceof CachedItem cachedItem) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cachedItem.item();
+        }
+        Object pending = cache.asMap().compute(key, (cacheKey, current) ->
+                current != null ? current : new PendingLoad());
+        if (pending instanceof CachedItem cachedItem) {
+            hitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cachedItem.item();
+        }
+        CachedItem loaded = loader.get();
+        cache.asMap().replace(key, pending, loaded);
+        missTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return loaded.item();
+    }
+
+    public void evict(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(itemId);
+            }
+        });
+    }
+
+    private void invalidate(long itemId) {
+        cache.invalidate(new ItemCacheKey(itemId, true));
+        cache.invalidate(new ItemCacheKey(itemId, false));
+    }
+
+    private static final class PendingLoad {
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class ItemDetailsExpiry implements Expiry<Object, Object> {
+    private final long timeToLive;
+
+    public ItemDetailsExpiry(Duration timeToLive) {
+        this.timeToLive = timeToLive.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return expireAfterWrite(value);
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterWrite(value);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long expireAfterWrite(Object value) {
+        if (value instanceof CachedItem cachedItem && cachedItem.validUntil() != null) {
+            long untilBoundary = Duration.between(LocalDateTime.now(), cachedItem.validUntil()).toNanos();
+            return Math.max(0, Math.min(untilBoundary, timeToLive));
+        }
+        return timeToLive;
+    }
+}
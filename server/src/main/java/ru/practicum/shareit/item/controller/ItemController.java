@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
@@ -21,7 +23,9 @@ import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
 import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -66,9 +70,27 @@ public class ItemController {
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
     public Collection<ItemDTO> searchItems(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestParam("text") String text) {
-        log.info("Received request from userId={} to get items with text={}", userId, text);
-        return itemService.searchItems(text);
+                                           @RequestParam("text") String text,
+                                           @RequestParam(name = "from", defaultValue = "0") int from,
+                                           @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Received request from userId={} to get items with text={}, from={}, size={}",
+                userId, text, from, size);
+        return itemService.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BusyIntervalDTO> getItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                     @PathVariable long itemId,
+                                                     @RequestParam("from")
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime from,
+                                                     @RequestParam("to")
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime to) {
+        log.info("Received request from userId={} to get availability of itemId={} from {} to {}",
+                userId, itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
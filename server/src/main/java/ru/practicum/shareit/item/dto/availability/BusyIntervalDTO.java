@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class BusyIntervalDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -4,6 +4,7 @@ import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentView;
 import ru.practicum.shareit.user.model.User;
 
 public class CommentDTOMapper {
@@ -16,6 +17,15 @@ public class CommentDTOMapper {
                 .build();
     }
 
+    public static CommentDTO toDTO(CommentView comment) {
+        return CommentDTO.builder()
+                .id(comment.id())
+                .text(comment.text())
+                .authorName(comment.authorName())
+                .created(comment.created())
+                .build();
+    }
+
     public static Comment fromCreateDTO(User user, Item item, CommentCreateDTO dto) {
         return Comment.builder()
                 .text(dto.getText())
@@ -2,7 +2,9 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.interval.BusyInterval;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemDTO;
@@ -10,10 +12,13 @@ import ru.practicum.shareit.item.dto.item.ItemDTOForRequest;
 import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentView;
+import ru.practicum.shareit.item.projection.ItemAnswerView;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.projection.ItemWithBookingDates;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -53,11 +58,16 @@ public class ItemDTOMapper {
         return itemDTO;
     }
 
-    public static Collection<ItemDTO> toDTO(Collection<Item> items, Map<Long, List<Comment>> commentMap) {
+    public static Collection<ItemDTO> toDTO(Collection<ItemView> items, Map<Long, List<CommentView>> commentMap) {
         Map<Long, List<CommentDTO>> commentMapDto = commentMapConvert(commentMap);
         return items.stream()
-                .map(ItemDTOMapper::toSemiFinishedDTO)
-                .peek(itemDTO -> itemDTO.setComments(commentMapDto.get(itemDTO.getId())))
+                .map(item -> ItemDTO.builder()
+                        .id(item.getId())
+                        .name(item.getName())
+                        .description(item.getDescription())
+                        .available(item.getAvailable())
+                        .comments(commentMapDto.get(item.getId()))
+                        .build())
                 .toList();
     }
 
@@ -87,27 +97,19 @@ public class ItemDTOMapper {
         return itemDTO;
     }
 
-    public static Collection<ItemDTOWithBookings> toDTOWithBookings(long userId, Collection<Item> items,
-                                                                    Map<Long, List<Comment>> commentMap,
-                                                                    Map<Long, Booking> lastBookingMap,
-                                                                    Map<Long, Booking> nextBookingMap) {
+    public static Collection<ItemDTOWithBookings> toDTOWithBookings(Collection<ItemWithBookingDates> items,
+                                                                    Map<Long, List<CommentView>> commentMap) {
         Map<Long, List<CommentDTO>> commentMapDto = commentMapConvert(commentMap);
-        List<Long> itemIds = items.stream()
-                .map(Item::getId)
-                .toList();
         return items.stream()
-                .map(ItemDTOMapper::toSemiFinishedDTOWithBookings)
-                .peek(dto -> dto.setComments(commentMapDto.get(dto.getId())))
-                .peek(dto -> {
-                    Booking booking = lastBookingMap.get(dto.getId());
-                    LocalDateTime date = (booking == null) ? null : booking.getEnd();
-                    dto.setLastBooking(date);
-                })
-                .peek(dto -> {
-                    Booking booking = nextBookingMap.get(dto.getId());
-                    LocalDateTime date = (booking == null) ? null : booking.getStart();
-                    dto.setNextBooking(date);
-                })
+                .map(item -> ItemDTOWithBookings.builder()
+                        .id(item.getId())
+                        .name(item.getName())
+                        .description(item.getDescription())
+                        .available(item.getAvailable())
+                        .comments(commentMapDto.get(item.getId()))
+                        .lastBooking(item.getLastBooking())
+                        .nextBooking(item.getNextBooking())
+                        .build())
                 .toList();
     }
 
@@ -120,9 +122,26 @@ public class ItemDTOMapper {
                 .build();
     }
 
-    private static Map<Long, List<CommentDTO>> commentMapConvert(Map<Long, List<Comment>> commentMap) {
+    public static ItemDTOForRequest toDTOForRequest(ItemAnswerView item) {
+        return ItemDTOForRequest.builder()
+                .id(item.id())
+                .name(item.name())
+                .ownerId(item.ownerId())
+                .build();
+    }
+
+    public static List<BusyIntervalDTO> toBusyIntervalDTO(Collection<BusyInterval> intervals) {
+        return intervals.stream()
+                .map(interval -> BusyIntervalDTO.builder()
+                        .start(interval.start())
+                        .end(interval.end())
+                        .build())
+                .toList();
+    }
+
+    private static Map<Long, List<CommentDTO>> commentMapConvert(Map<Long, List<CommentView>> commentMap) {
         Map<Long, List<CommentDTO>> commentMapDto = new HashMap<>();
-        for (Map.Entry<Long, List<Comment>> entry : commentMap.entrySet()) {
+        for (Map.Entry<Long, List<CommentView>> entry : commentMap.entrySet()) {
             List<CommentDTO> commentDTO = entry.getValue()
                     .stream()
                     .map(CommentDTOMapper::toDTO)
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.projection;
+
+import java.time.LocalDateTime;
+
+public record CommentView(long itemId, long id, String text, String authorName, LocalDateTime created) {
+}
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.projection;
+
+public record ItemAnswerView(long requestId, long id, String name, long ownerId) {
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.projection;
+
+public interface ItemView {
+
+    long getId();
+
+    String getName();
+
+    String getDescription();
+
+    boolean getAvailable();
+
+}
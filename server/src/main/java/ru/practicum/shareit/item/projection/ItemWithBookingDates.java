@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.projection;
+
+import java.time.LocalDateTime;
+
+public interface ItemWithBookingDates {
+
+    long getId();
+
+    String getName();
+
+    String getDescription();
+
+    boolean getAvailable();
+
+    LocalDateTime getLastBooking();
+
+    LocalDateTime getNextBooking();
+
+}
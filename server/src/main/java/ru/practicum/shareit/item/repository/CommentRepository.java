@@ -1,13 +1,24 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.projection.CommentView;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     Collection<Comment> findByItemId(long itemId);
 
-    Collection<Comment> findByItemIdIn(Collection<Long> itemIds);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.projection.CommentView(c.item.id, c.id, c.text, a.name, c.created)
+            FROM Comment AS c
+            JOIN c.author AS a
+            WHERE c.item.id IN :itemIds
+            """)
+    List<CommentView> getCommentViewsByItemIds(Collection<Long> itemIds);
 
 }
@@ -1,24 +1,65 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemAnswerView;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.projection.ItemWithBookingDates;
+import ru.practicum.shareit.item.search.IndexedItem;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Collection<Item> findByOwnerId(long userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
             SELECT i
             FROM Item AS i
+            WHERE i.id = :itemId
+            """)
+    Optional<Item> findLockedById(long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT i
+            FROM Item AS i
+            WHERE i.id IN :itemIds
+            ORDER BY i.id
+            """)
+    List<Item> findLockedByIdIn(Collection<Long> itemIds);
+
+    @Query(value = """
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.is_available AS available
+            FROM items AS i
+            WHERE i.is_available = TRUE
+            AND (LOWER(i.name) LIKE '%' || LOWER(:text) || '%'
+            OR LOWER(i.description) LIKE '%' || LOWER(:text) || '%')
+            ORDER BY i.id
+            """, nativeQuery = true)
+    List<ItemView> searchItems(String text, Pageable page);
+
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available
+            FROM Item AS i
+            WHERE i.id IN :itemIds
+            ORDER BY i.id
+            """)
+    List<ItemView> getItemViewsByIds(Collection<Long> itemIds);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.item.search.IndexedItem(i.id, i.name, i.description)
+            FROM Item AS i
             WHERE i.available = TRUE
-            AND (LOWER(i.name) like CONCAT('%', LOWER(:text), '%')
-            OR LOWER(i.description) like CONCAT('%', LOWER(:text) , '%'))
             """)
-    Collection<Item> searchItems(String text);
+    List<IndexedItem> getAllAvailableItemsForIndex();
 
     @Query("""
             SELECT CASE WHEN COUNT(i)> 0 THEN TRUE ELSE FALSE END
@@ -27,8 +68,28 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             """)
     boolean existsByIdAndOwner(long itemId, long userId);
 
-    List<Item> findByRequestId(long requestId);
+    @Query("""
+            SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available,
+            (SELECT MAX(b.end)
+            FROM Booking AS b
+            WHERE b.item.id = i.id
+            AND b.end < CURRENT_TIMESTAMP) AS lastBooking,
+            (SELECT MIN(b.start)
+            FROM Booking AS b
+            WHERE b.item.id = i.id
+            AND b.start > CURRENT_TIMESTAMP
+            AND b.status != 'REJECTED') AS nextBooking
+            FROM Item AS i
+            WHERE i.owner.id = :userId
+            ORDER BY i.id
+            """)
+    List<ItemWithBookingDates> getItemsWithBookingDatesByOwner(long userId);
 
-    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.projection.ItemAnswerView(i.request.id, i.id, i.name, i.owner.id)
+            FROM Item AS i
+            WHERE i.request.id IN :requestIds
+            """)
+    List<ItemAnswerView> getAnswersByRequestIds(Collection<Long> requestIds);
 
 }
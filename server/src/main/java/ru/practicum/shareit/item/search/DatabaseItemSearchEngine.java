@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.Collection;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public Collection<ItemView> searchItems(String text, int from, int size) {
+        return itemRepository.searchItems(text, OffsetPageRequest.of(from, size));
+    }
+
+    @Override
+    public void indexItem(Item item) {
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final ItemTextIndex index = new ItemTextIndex();
+
+    @PostConstruct
+    public void loadIndex() {
+        itemRepository.getAllAvailableItemsForIndex().forEach(index::put);
+        log.info("Item search index was built for {} items", index.size());
+    }
+
+    @Override
+    public Collection<ItemView> searchItems(String text, int from, int size) {
+        OffsetPageRequest page = OffsetPageRequest.of(from, size);
+        List<Long> itemIds = Arrays.stream(index.search(text))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .boxed()
+                .toList();
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return itemRepository.getItemViewsByIds(itemIds);
+    }
+
+    @Override
+    public void indexItem(Item item) {
+        long itemId = item.getId();
+        IndexedItem indexedItem = new IndexedItem(itemId, item.getName(), item.getDescription());
+        boolean available = item.isAvailable();
+        Runnable update = () -> {
+            if (available) {
+                index.put(indexedItem);
+            } else {
+                index.remove(itemId);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
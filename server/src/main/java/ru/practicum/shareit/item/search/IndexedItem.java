@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.search;
+
+public record IndexedItem(long id, String name, String description) {
+}
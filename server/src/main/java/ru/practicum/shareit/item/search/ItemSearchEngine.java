@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemView;
+
+import java.util.Collection;
+
+public interface ItemSearchEngine {
+
+    Collection<ItemView> searchItems(String text, int from, int size);
+
+    void indexItem(Item item);
+
+}
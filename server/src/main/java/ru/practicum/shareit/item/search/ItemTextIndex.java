@@ -0,0 +1,173 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemTextIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(IndexedItem item) {
+        IndexedItem normalized = new IndexedItem(item.id(), normalize(item.name()), normalize(item.description()));
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(item.id());
+            items.put(normalized.id(), normalized);
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(normalized.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeUnderLock(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    long[] search(String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                return items.values().stream()
+                        .filter(item -> matches(item, query))
+                        .mapToLong(IndexedItem::id)
+                        .sorted()
+                        .toArray();
+            }
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            PostingList shortest = lists.getFirst();
+            long[] result = new long[shortest.size()];
+            int found = 0;
+            for (int i = 0; i < shortest.size(); i++) {
+                long itemId = shortest.get(i);
+                if (containsInAll(lists, itemId) && matches(items.get(itemId), query)) {
+                    result[found++] = itemId;
+                }
+            }
+            return Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeUnderLock(long itemId) {
+        IndexedItem old = items.remove(itemId);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            PostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean containsInAll(List<PostingList> lists, long itemId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(itemId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(IndexedItem item, String query) {
+        return item.name().contains(query) || item.description().contains(query);
+    }
+
+    private static Set<String> grams(IndexedItem item) {
+        Set<String> grams = grams(item.name());
+        grams.addAll(grams(item.description()));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+}
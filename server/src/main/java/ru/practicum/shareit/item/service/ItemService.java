@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
@@ -7,7 +8,9 @@ import ru.practicum.shareit.item.dto.item.ItemDTO;
 import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
 import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDTO createItem(long userId, ItemCreateDTO itemCreateDTO);
@@ -18,7 +21,9 @@ public interface ItemService {
 
     Collection<ItemDTOWithBookings> getAllItems(long userId);
 
-    Collection<ItemDTO> searchItems(String text);
+    Collection<ItemDTO> searchItems(String text, int from, int size);
 
     CommentDTO addComment(long userId, long itemId, CommentCreateDTO comment);
+
+    List<BusyIntervalDTO> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -3,12 +3,17 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.PrimaryReads;
+import ru.practicum.shareit.config.RetryOnConcurrentUpdate;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InternalServerException;
+import ru.practicum.shareit.item.cache.CachedItem;
+import ru.practicum.shareit.item.cache.ItemDetailsCache;
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
@@ -19,16 +24,19 @@ import ru.practicum.shareit.item.mapper.CommentDTOMapper;
 import ru.practicum.shareit.item.mapper.ItemDTOMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentView;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.projection.ItemWithBookingDates;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -37,14 +45,20 @@ import static java.util.Objects.nonNull;
 @Slf4j
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
     private final BookingRepository bookingRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final PrimaryReads primaryReads;
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
     public ItemDTO createItem(long userId, ItemCreateDTO itemCreateDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("User with id=%d does not exists", userId)));
@@ -57,13 +71,15 @@ public class ItemServiceImpl implements ItemService {
         }
         Item itemToCreate = ItemDTOMapper.fromCreateDTO(user, itemCreateDTO, request);
         Item createdItem = itemRepository.save(itemToCreate);
+        itemSearchEngine.indexItem(createdItem);
         log.info("Item {} was created", createdItem);
         Collection<Comment> comments = commentRepository.findByItemId(createdItem.getId());
         return ItemDTOMapper.toDTO(createdItem, comments);
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
+    @RetryOnConcurrentUpdate
     public ItemDTO updateItem(long userId, long itemId, ItemUpdateDTO itemUpdateDTO) {
         Item oldItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("Item with id=%d does not exists", itemId)));
@@ -71,6 +87,8 @@ public class ItemServiceImpl implements ItemService {
 
         Item itemToUpdate = fillInFieldsToUpdate(oldItem, itemUpdateDTO);
         Item updatedItem = itemRepository.save(itemToUpdate);
+        itemSearchEngine.indexItem(updatedItem);
+        itemDetailsCache.evict(itemId);
         log.info("{} was updated", updatedItem);
         Collection<Comment> comments = commentRepository.findByItemId(updatedItem.getId());
         return ItemDTOMapper.toDTO(itemToUpdate, comments);
@@ -93,43 +111,58 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Transactional(readOnly = true)
     public ItemDTOWithBookings getItem(long userId, long itemId) {
-        Optional<Item> item = itemRepository.findById(itemId);
-        Booking lastBooking = bookingRepository.getLastBookingForItemOwnedByUser(userId, itemId).orElse(null);
-        Booking nextBooking = bookingRepository.getNextBookingForItemOwnedByUser(userId, itemId).orElse(null);
-        Collection<Comment> comments = commentRepository.findByItemId(itemId);
-        return item.map(i -> ItemDTOMapper.toDTOWithBookings(userId, i, comments, lastBooking, nextBooking)).orElseThrow(
-                () -> new IdNotFoundException("Item with id=" + itemId + " not found"));
+        boolean isOwner = getItemById(itemId).getOwner().getId() == userId;
+        return itemDetailsCache.get(itemId, isOwner, () -> primaryReads.read(() ->
+                loadItemDetails(userId, getItemById(itemId), isOwner)));
+    }
+
+    private Item getItemById(long itemId) {
+        return itemRepository.findById(itemId)
+                .orElseThrow(() -> new IdNotFoundException("Item with id=" + itemId + " not found"));
+    }
+
+    private CachedItem loadItemDetails(long userId, Item item, boolean isOwner) {
+        Collection<Comment> comments = commentRepository.findByItemId(item.getId());
+        if (!isOwner) {
+            return new CachedItem(ItemDTOMapper.toDTOWithBookings(userId, item, comments, null, null), null);
+        }
+        Booking lastBooking = bookingRepository.getLastBookingForItemOwnedByUser(userId, item.getId()).orElse(null);
+        Booking nextBooking = bookingRepository.getNextBookingForItemOwnedByUser(userId, item.getId()).orElse(null);
+        LocalDateTime validUntil = bookingRepository.getNextBookingBoundary(item.getId()).orElse(null);
+        return new CachedItem(ItemDTOMapper.toDTOWithBookings(userId, item, comments, lastBooking, nextBooking),
+                validUntil);
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    @Transactional(readOnly = true)
     public Collection<ItemDTOWithBookings> getAllItems(long userId) {
         validateIfUserNotExists(userId);
-        Collection<Item> items = itemRepository.findByOwnerId(userId);
+        List<ItemWithBookingDates> items = itemRepository.getItemsWithBookingDatesByOwner(userId);
         Collection<Long> itemIds = items
                 .stream()
-                .map(Item::getId)
+                .map(ItemWithBookingDates::getId)
                 .toList();
-        Map<Long, Booking> lastBookingMap =  getLastBookingMap(userId, itemIds);
-        Map<Long, Booking> nextBookingMap =  getNextBookingMap(userId, itemIds);
-        Map<Long, List<Comment>> mapComments = getCommentsMapByItemIds(items);
-        return ItemDTOMapper.toDTOWithBookings(userId, items, mapComments, lastBookingMap, nextBookingMap);
+        Map<Long, List<CommentView>> mapComments = getCommentsMapByItemIds(itemIds);
+        return ItemDTOMapper.toDTOWithBookings(items, mapComments);
     }
 
     @Override
-    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
-    public Collection<ItemDTO> searchItems(String text) {
+    @Transactional(readOnly = true)
+    public Collection<ItemDTO> searchItems(String text, int from, int size) {
         if (isNull(text) || text.isBlank()) {
             return Collections.emptyList();
         }
-        Collection<Item> items = itemRepository.searchItems(text);
-        return ItemDTOMapper.toDTO(items, getCommentsMapByItemIds(items));
+        Collection<ItemView> items = itemSearchEngine.searchItems(text, from, Math.min(size, MAX_SEARCH_SIZE));
+        Collection<Long> itemIds = items.stream()
+                .map(ItemView::getId)
+                .toList();
+        return ItemDTOMapper.toDTO(items, getCommentsMapByItemIds(itemIds));
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
     public CommentDTO addComment(long userId, long itemId, CommentCreateDTO commentDto) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("Item with id=%d does not exists", itemId)));
@@ -138,18 +171,28 @@ public class ItemServiceImpl implements ItemService {
         validateIfUserBookedItem(userId, itemId);
         Comment comment = CommentDTOMapper.fromCreateDTO(user, item, commentDto);
         Comment newComment = commentRepository.save(comment);
+        itemDetailsCache.evict(itemId);
         log.info("{} was added", newComment);
         return CommentDTOMapper.toDTO(newComment);
     }
 
-    private Map<Long, List<Comment>> getCommentsMapByItemIds(Collection<Item> items) {
-        Collection<Long> itemIds = items.stream()
-                .map(Item::getId)
-                .toList();
-        Collection<Comment> allComments = commentRepository.findByItemIdIn(itemIds);
-        Map<Long, List<Comment>> map = new HashMap<>();
-        for (Comment comment : allComments) {
-            Long itemId = comment.getItem().getId();
+    @Override
+    @Transactional(readOnly = true)
+    public List<BusyIntervalDTO> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Availability range start must be before its end");
+        }
+        if (itemRepository.findById(itemId).isEmpty()) {
+            throw new IdNotFoundException(String.format("Item with id=%d does not exists", itemId));
+        }
+        return ItemDTOMapper.toBusyIntervalDTO(bookingIntervalIndex.getBusyIntervals(itemId, from, to));
+    }
+
+    private Map<Long, List<CommentView>> getCommentsMapByItemIds(Collection<Long> itemIds) {
+        Collection<CommentView> allComments = commentRepository.getCommentViewsByItemIds(itemIds);
+        Map<Long, List<CommentView>> map = new HashMap<>();
+        for (CommentView comment : allComments) {
+            Long itemId = comment.itemId();
             if (!map.containsKey(itemId)) {
                 map.put(itemId, new ArrayList<>());
             }
@@ -158,20 +201,8 @@ public class ItemServiceImpl implements ItemService {
         return map;
     }
 
-    private Map<Long, Booking> getLastBookingMap(long userId, Collection<Long> itemIds) {
-        Collection<Booking> allBookings = bookingRepository.getAllLastBookings(userId, itemIds);
-        return allBookings.stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity()));
-    }
-
-    private Map<Long, Booking> getNextBookingMap(long userId, Collection<Long> itemIds) {
-        Collection<Booking> allBookings = bookingRepository.getAllNextBooking(userId, itemIds);
-        return allBookings.stream()
-                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity()));
-    }
-
     public void validateIfUserNotExists(long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new IdNotFoundException(String.format("User with id=%d does not exists", userId));
         }
     }
@@ -4,15 +4,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.item.ItemDTOForRequest;
 import ru.practicum.shareit.item.mapper.ItemDTOMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemAnswerView;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
 import ru.practicum.shareit.request.dto.ItemRequestDTO;
 import ru.practicum.shareit.request.dto.ItemRequestDTOWithAnswers;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.dto.UserDTO;
-import ru.practicum.shareit.user.mapper.UserDTOMapper;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.*;
@@ -31,7 +29,6 @@ public class RequestDTOMapper {
     }
 
     public static ItemRequestDTO toDTO(ItemRequest itemRequest) {
-        UserDTO userDTO = UserDTOMapper.toDTO(itemRequest.getRequestor());
         return ItemRequestDTO.builder()
                 .id(itemRequest.getId())
                 .description(itemRequest.getDescription())
@@ -48,7 +45,8 @@ public class RequestDTOMapper {
                 .build();
     }
 
-    public static ItemRequestDTOWithAnswers toDTOWithAnswers(ItemRequest itemRequest, Collection<Item> items) {
+    public static ItemRequestDTOWithAnswers toDTOWithAnswers(ItemRequest itemRequest,
+                                                             Collection<ItemAnswerView> items) {
         ItemRequestDTOWithAnswers request = toSemiFinishedDTOWithAnswers(itemRequest);
         if (items != null) {
             List<ItemDTOForRequest> requestedItemsDTO = items
@@ -61,7 +59,7 @@ public class RequestDTOMapper {
     }
 
     public static List<ItemRequestDTOWithAnswers> toDTOWithAnswers(List<ItemRequest> itemRequests,
-                                                                   Map<Long, List<Item>> itemMap) {
+                                                                   Map<Long, List<ItemAnswerView>> itemMap) {
         if (itemMap != null) {
             Map<Long, List<ItemDTOForRequest>> itemMapDto = itemMapConvert(itemMap);
             return itemRequests.stream()
@@ -75,23 +73,9 @@ public class RequestDTOMapper {
         }
     }
 
-    private Map<Long, List<Item>> getItemMapByRequestId(List<ItemRequest> itemRequests) {
-        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).toList();
-        List<Item> items = itemRepository.findByRequestIdIn(requestIds);
-        Map<Long, List<Item>> map = new HashMap<>();
-        for (Item item : items) {
-            long requestId = item.getRequest().getId();
-            if (!map.containsKey(requestId)) {
-                map.put(requestId, new ArrayList<>());
-            }
-            map.get(requestId).add(item);
-        }
-        return map;
-    }
-
-    private static Map<Long, List<ItemDTOForRequest>> itemMapConvert(Map<Long, List<Item>> itemMap) {
+    private static Map<Long, List<ItemDTOForRequest>> itemMapConvert(Map<Long, List<ItemAnswerView>> itemMap) {
         Map<Long, List<ItemDTOForRequest>> itemMapDto = new HashMap<>();
-        for (Map.Entry<Long, List<Item>> entry : itemMap.entrySet()) {
+        for (Map.Entry<Long, List<ItemAnswerView>> entry : itemMap.entrySet()) {
             List<ItemDTOForRequest> itemDTOForRequests = entry.getValue()
                     .stream()
                     .map(ItemDTOMapper::toDTOForRequest)
@@ -3,10 +3,9 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.IdNotFoundException;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemAnswerView;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
 import ru.practicum.shareit.request.dto.ItemRequestDTO;
@@ -30,7 +29,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRepository itemRepository;
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    @Transactional
     public ItemRequestDTO createItemRequest(long userId, ItemRequestCreateDTO itemRequestCreateDTO) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IdNotFoundException(String.format("User with id=%d does not exists", userId)));
@@ -41,7 +40,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+    @Transactional(readOnly = true)
     public List<ItemRequestDTOWithAnswers> getUserRequests(long userId) {
         validateIfUserNotExists(userId);
         List<ItemRequest> requests = requestRepository.findByRequestorIdOrderByCreatedAsc(userId);
@@ -50,7 +49,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    @Transactional(isolation = Isolation.REPEATABLE_READ, readOnly = true)
+    @Transactional(readOnly = true)
     public List<ItemRequestDTO> getAllRequestsExceptUser(long userId) {
         validateIfUserNotExists(userId);
         List<ItemRequest> requests = requestRepository.findByRequestorIdNotOrderByCreatedAsc(userId);
@@ -65,24 +64,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new IdNotFoundException(
                         (String.format("Item request with id=%d is not available", requestId))));
-        return RequestDTOMapper.toDTOWithAnswers(request, itemRepository.findByRequestId(requestId));
+        return RequestDTOMapper.toDTOWithAnswers(request, itemRepository.getAnswersByRequestIds(List.of(requestId)));
     }
 
-    private Map<Long, List<Item>> getItemMapByRequestId(List<ItemRequest> itemRequests) {
+    private Map<Long, List<ItemAnswerView>> getItemMapByRequestId(List<ItemRequest> itemRequests) {
         List<Long> requestIds = itemRequests
                 .stream()
                 .map(ItemRequest::getId)
                 .toList();
-        List<Item> items = itemRepository.findByRequestIdIn(requestIds);
+        List<ItemAnswerView> items = itemRepository.getAnswersByRequestIds(requestIds);
         return items
                 .stream()
-                .collect(Collectors.groupingBy(item -> {
-                    return item.getRequest().getId();
-                }));
+                .collect(Collectors.groupingBy(ItemAnswerView::requestId));
     }
 
     public void validateIfUserNotExists(long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new IdNotFoundException(String.format("User with id=%d does not exists", userId));
         }
     }
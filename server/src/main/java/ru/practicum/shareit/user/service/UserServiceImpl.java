@@ -87,7 +87,7 @@ public class UserServiceImpl implements UserService {
     }
 
     public void validateIfUserNotExists(long userId) {
-        if (!userRepository.existsById(userId)) {
+        if (userRepository.findById(userId).isEmpty()) {
             throw new IdNotFoundException(String.format("User with id=%d does not exists", userId));
         }
     }
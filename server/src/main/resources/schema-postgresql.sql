@@ -0,0 +1,10 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (LOWER(name) gin_trgm_ops) WHERE is_available;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (LOWER(description) gin_trgm_ops) WHERE is_available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlap;
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status <> 'REJECTED');
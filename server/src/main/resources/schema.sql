@@ -3,25 +3,37 @@ DROP TABLE IF EXISTS bookings;
 DROP TABLE IF EXISTS requests;
 DROP TABLE IF EXISTS items;
 DROP TABLE IF EXISTS users;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   name varchar(50) NOT NULL,
   email varchar(100) UNIQUE NOT NULL
 );
 
 CREATE TABLE  IF NOT EXISTS items (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   name varchar(50) NOT NULL,
   description varchar(100) NOT NULL,
   is_available bool NOT NULL,
   owner_id bigint NOT NULL,
   request_id bigint,
+  version bigint NOT NULL DEFAULT 0,
   CONSTRAINT FKItemsOwner_id FOREIGN KEY (owner_id) REFERENCES users (id)
 );
 
 CREATE TABLE  IF NOT EXISTS requests (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   description varchar(200) NOT NULL,
   requester_id bigint NOT NULL,
   created timestamp(0) NOT NULL,
@@ -29,18 +41,21 @@ CREATE TABLE  IF NOT EXISTS requests (
 );
 
 CREATE TABLE  IF NOT EXISTS bookings (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   start_date timestamp(0) NOT NULL,
   end_date timestamp(0) NOT NULL,
   item_id bigint NOT NULL,
   booker_id bigint NOT NULL,
+  owner_id bigint NOT NULL,
   status varchar(15) NOT NULL,
+  version bigint NOT NULL DEFAULT 0,
   CONSTRAINT FKBookingsItem_id FOREIGN KEY (item_id) REFERENCES items (id),
-  CONSTRAINT FKBookingsBooker_id FOREIGN KEY (booker_id) REFERENCES users (id)
+  CONSTRAINT FKBookingsBooker_id FOREIGN KEY (booker_id) REFERENCES users (id),
+  CONSTRAINT FKBookingsOwner_id FOREIGN KEY (owner_id) REFERENCES users (id)
 );
 
 CREATE TABLE IF NOT EXISTS comments (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   text VARCHAR NOT NULL,
   item_id BIGINT NOT NULL,
   author_id BIGINT NOT NULL,
@@ -52,3 +67,7 @@ CREATE TABLE IF NOT EXISTS comments (
 CREATE INDEX IF NOT EXISTS idx_users_id_email ON users(id,email);
 CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items(owner_id);
 CREATE INDEX IF NOT EXISTS idx_items_id_owner_id ON items(id,owner_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date_id ON bookings(booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date_id ON bookings(item_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_id_start_date_id ON bookings(owner_id, start_date, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_end_date ON bookings(item_id, end_date);
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class FetchPlanTest {
+    private final UserServiceImpl userService;
+    private final ItemRequestServiceImpl itemRequestService;
+    private final ItemServiceImpl itemService;
+    private final BookingServiceImpl bookingService;
+    private final EntityManager em;
+
+    private long ownerId;
+    private long bookerId;
+    private long requestId;
+    private long itemId;
+    private long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        requestId = itemRequestService.createItemRequest(bookerId, new ItemRequestCreateDTO("need a drill")).getId();
+        itemId = itemService.createItem(ownerId, new ItemCreateDTO("drill", "cordless drill", true, requestId))
+                .getId();
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        bookingId = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)))
+                .getId();
+        itemService.addComment(bookerId, itemId, new CommentCreateDTO("works fine"));
+    }
+
+    @Test
+    void createBooking() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        assertEquals(5, countStatements(() -> bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start, start.plusDays(1)))));
+    }
+
+    @Test
+    void answerBookingRequest() {
+        assertEquals(3, countStatements(() -> bookingService.answerBookingRequest(ownerId, bookingId, true)));
+    }
+
+    @Test
+    void getBookingStatus() {
+        assertEquals(2, countStatements(() -> bookingService.getBookingStatus(bookerId, bookingId)));
+    }
+
+    @Test
+    void getBookingLists() {
+        assertEquals(3, countStatements(() -> bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL,
+                0, 10, null)));
+        assertEquals(3, countStatements(() -> bookingService.getAllBookingsForUserItems(ownerId, BookingState.ALL,
+                0, 10, null)));
+    }
+
+    @Test
+    void createItem() {
+        assertEquals(4, countStatements(() -> itemService.createItem(ownerId,
+                new ItemCreateDTO("saw", "hand saw", true, requestId))));
+    }
+
+    @Test
+    void updateItem() {
+        assertEquals(4, countStatements(() -> itemService.updateItem(ownerId, itemId,
+                new ItemUpdateDTO("new drill", null, null))));
+    }
+
+    @Test
+    void getItem() {
+        assertEquals(5, countStatements(() -> itemService.getItem(ownerId, itemId)));
+    }
+
+    @Test
+    void getAllItems() {
+        assertEquals(3, countStatements(() -> itemService.getAllItems(ownerId)));
+    }
+
+    @Test
+    void addComment() {
+        assertEquals(4, countStatements(() -> itemService.addComment(bookerId, itemId,
+                new CommentCreateDTO("still works"))));
+    }
+
+    @Test
+    void getRequests() {
+        assertEquals(3, countStatements(() -> itemRequestService.getUserRequests(bookerId)));
+        assertEquals(2, countStatements(() -> itemRequestService.getAllRequestsExceptUser(ownerId)));
+        assertEquals(2, countStatements(() -> itemRequestService.getRequestById(requestId)));
+    }
+
+    private long countStatements(Runnable action) {
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        action.run();
+        em.flush();
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(enabled);
+        return statements;
+    }
+}
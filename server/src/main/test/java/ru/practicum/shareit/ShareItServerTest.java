@@ -6,6 +6,6 @@ class ShareItServerTest {
 
     @Test
     void main() {
-        ShareItServer.main(new String[]{});
+        ShareItServer.main(new String[]{"--server.port=0", "--spring.datasource.url=jdbc:h2:mem:server-main"});
     }
-}
\ No newline at end of file
+}
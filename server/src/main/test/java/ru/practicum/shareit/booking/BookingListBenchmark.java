@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingDTOMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingView;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.projection.CommentView;
+import ru.practicum.shareit.item.repository.CommentRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingListBenchmark {
+    private static final int ITEM_COUNT = 50;
+    private static final int BOOKINGS_PER_ITEM = 40;
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CommentRepository commentRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .run("--spring.main.web-application-type=none",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=OFF",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=OFF");
+        commentRepository = context.getBean(CommentRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        fillBookings(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> entityGraph() {
+        return transactionTemplate.execute(status -> {
+            List<Booking> bookings = entityManager.createQuery("""
+                            SELECT b
+                            FROM Booking AS b
+                            JOIN FETCH b.item AS i
+                            JOIN FETCH b.booker
+                            WHERE i.owner.id = :ownerId
+                            ORDER BY b.start DESC, b.id DESC
+                            """, Booking.class)
+                    .setParameter("ownerId", ownerId)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            List<Long> itemIds = bookings.stream()
+                    .map(booking -> booking.getItem().getId())
+                    .distinct()
+                    .toList();
+            Map<Long, List<Comment>> comments = entityManager.createQuery("""
+                            SELECT c
+                            FROM Comment AS c
+                            JOIN FETCH c.author
+                            WHERE c.item.id IN :itemIds
+                            """, Comment.class)
+                    .setParameter("itemIds", itemIds)
+                    .getResultStream()
+                    .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+            return bookings.stream()
+                    .map(booking -> BookingDTOMapper.toDTO(booking,
+                            comments.getOrDefault(booking.getItem().getId(), List.of())))
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<BookingDto> projection() {
+        return transactionTemplate.execute(status -> {
+            List<BookingView> bookings = entityManager.createQuery("""
+                            SELECT new ru.practicum.shareit.booking.projection.BookingView(b.id, b.start, b.end,
+                                b.status, i.id, i.name, i.description, i.available, u.id, u.name, u.email)
+                            FROM Booking AS b
+                            JOIN b.item AS i
+                            JOIN b.booker AS u
+                            WHERE i.owner.id = :ownerId
+                            ORDER BY b.start DESC, b.id DESC
+                            """, BookingView.class)
+                    .setParameter("ownerId", ownerId)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            List<Long> itemIds = bookings.stream()
+                    .map(BookingView::itemId)
+                    .distinct()
+                    .toList();
+            Map<Long, List<CommentView>> comments = commentRepository.getCommentViewsByItemIds(itemIds)
+                    .stream()
+                    .collect(Collectors.groupingBy(CommentView::itemId));
+            return BookingDTOMapper.toDTO(bookings, comments);
+        });
+    }
+
+    private void fillBookings(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (1, 'owner', 'owner@mail.ru')");
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (2, 'booker', 'booker@mail.ru')");
+        ownerId = 1;
+        long bookerId = 2;
+        List<Object[]> items = new ArrayList<>(ITEM_COUNT);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items.add(new Object[]{i + 1L, "item " + i, "description of item " + i, true, ownerId});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (id, name, description, is_available, owner_id) VALUES (?, ?, ?, ?, ?)", items);
+        List<Long> itemIds = jdbcTemplate.queryForList("SELECT id FROM items", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (long itemId : itemIds) {
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.minusDays(i * 2L).plusMinutes(itemId);
+                bookings.add(new Object[]{bookings.size() + 1L, Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.plusDays(1)), itemId, bookerId, ownerId, "APPROVED"});
+            }
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(new Object[]{comments.size() + 1L, "comment " + i, itemId, bookerId, Timestamp.valueOf(now)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, "
+                + "status) VALUES (?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, creation_time) "
+                + "VALUES (?, ?, ?, ?, ?)", comments);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingListBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(3)
+public class BulkInsertBenchmark {
+    private static final int ROWS = 200;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private long ownerId;
+    private long bookerId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .run("--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bulk",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=OFF",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=OFF");
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        ownerId = 1;
+        bookerId = 2;
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'owner', 'owner@mail.ru')", ownerId);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'booker', 'booker@mail.ru')", bookerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public int createItemsAndBookings() {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            User owner = entityManager.getReference(User.class, ownerId);
+            User booker = entityManager.getReference(User.class, bookerId);
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            for (int i = 0; i < ROWS; i++) {
+                Item item = Item.builder()
+                        .name("item " + i)
+                        .description("description of item " + i)
+                        .available(true)
+                        .owner(owner)
+                        .build();
+                entityManager.persist(item);
+                entityManager.persist(Booking.builder()
+                        .start(start)
+                        .end(start.plusDays(1))
+                        .item(item)
+                        .booker(booker)
+                        .ownerId(owner.getId())
+                        .status(BookingStatus.WAITING)
+                        .build());
+            }
+            entityManager.flush();
+            entityManager.clear();
+            status.setRollbackOnly();
+            return ROWS;
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkInsertBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -6,27 +6,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.item.dto.item.ItemDTO;
 import ru.practicum.shareit.user.dto.UserDTO;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -90,6 +99,30 @@ class BookingControllerTest {
         verifyNoMoreInteractions(bookingService);
     }
 
+    @Test
+    void answerBookingRequests() throws Exception {
+        long userId = 12213;
+        long itemId = 12312;
+        List<Long> bookingIds = List.of(1L, 2L);
+        LocalDateTime start = LocalDateTime.now();
+        ItemDTO itemDTO = new ItemDTO(itemId, "sss", "ssss", true, Collections.emptyList());
+        UserDTO userDTO = new UserDTO(userId, "ssss", "sssss");
+        List<BookingDto> bookings = List.of(
+                new BookingDto(1L, start, start.plusDays(1), itemDTO, userDTO, BookingStatus.REJECTED),
+                new BookingDto(2L, start, start.plusDays(1), itemDTO, userDTO, BookingStatus.REJECTED));
+        when(bookingService.answerBookingRequests(userId, bookingIds, false)).thenReturn(bookings);
+
+        mockMvc.perform(patch("/bookings/batch?approved=false")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(bookingIds))
+                        .header(userIdHeader, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+        verify(bookingService, times(1)).answerBookingRequests(userId, bookingIds, false);
+        verifyNoMoreInteractions(bookingService);
+    }
+
     @Test
     void getBookingStatus() throws Exception {
         long userId = 12213;
@@ -123,13 +156,13 @@ class BookingControllerTest {
         List<BookingDto> bookingDtos = List.of(bookingDto1, bookingDto2);
         BookingState state = BookingState.ALL;
 
-        when(bookingService.getAllBookingsOfUser(userId, state)).thenReturn(bookingDtos);
+        when(bookingService.getAllBookingsOfUser(userId, state, 0, 10, null)).thenReturn(bookingDtos);
 
         mockMvc.perform(get("/bookings?state=" + state.toString())
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(is(2L), Long.class));
-        verify(bookingService, times(1)).getAllBookingsOfUser(userId, state);
+        verify(bookingService, times(1)).getAllBookingsOfUser(userId, state, 0, 10, null);
         verifyNoMoreInteractions(bookingService);
     }
 
@@ -145,13 +178,59 @@ class BookingControllerTest {
         List<BookingDto> bookingDtos = List.of(bookingDto1, bookingDto2);
         BookingState state = BookingState.ALL;
 
-        when(bookingService.getAllBookingsForUserItems(userId, state)).thenReturn(bookingDtos);
+        when(bookingService.getAllBookingsForUserItems(userId, state, 0, 10, null)).thenReturn(bookingDtos);
 
         mockMvc.perform(get("/bookings/owner?state=" + state.toString())
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(is(2L), Long.class));
-        verify(bookingService, times(1)).getAllBookingsForUserItems(userId, state);
+        verify(bookingService, times(1)).getAllBookingsForUserItems(userId, state, 0, 10, null);
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void exportAllBookingsForUserItems() throws Exception {
+        long userId = 222;
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(2);
+        ItemDTO itemDTO = new ItemDTO(12213, "sss", "ssss", true, Collections.emptyList());
+        UserDTO userDTO = new UserDTO(222, "ssss", "sssss");
+        BookingDto bookingDto1 = new BookingDto(1212, start, end, itemDTO, userDTO, BookingStatus.APPROVED);
+        BookingDto bookingDto2 = new BookingDto(21221, start, end, itemDTO, userDTO, BookingStatus.APPROVED);
+        BookingState state = BookingState.PAST;
+
+        doAnswer(invocation -> {
+            Consumer<BookingDto> consumer = invocation.getArgument(2);
+            consumer.accept(bookingDto1);
+            consumer.accept(bookingDto2);
+            return null;
+        }).when(bookingService).exportAllBookingsForUserItems(eq(userId), eq(state), any());
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export?state=" + state.toString())
+                        .header(userIdHeader, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(is(2L), Long.class))
+                .andExpect(jsonPath("$[1].id").value(is(21221L), Long.class));
+        verify(bookingService, times(1)).validateIfUserNotExists(userId);
+        verify(bookingService, times(1)).exportAllBookingsForUserItems(eq(userId), eq(state), any());
+        verifyNoMoreInteractions(bookingService);
+    }
+
+    @Test
+    void exportAllBookingsForUnknownUserFailsBeforeStreaming() throws Exception {
+        long userId = 333;
+
+        doThrow(new IdNotFoundException("User with id=333 does not exists"))
+                .when(bookingService).validateIfUserNotExists(userId);
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(userIdHeader, userId))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+        verify(bookingService, times(1)).validateIfUserNotExists(userId);
         verifyNoMoreInteractions(bookingService);
     }
-}
\ No newline at end of file
+}
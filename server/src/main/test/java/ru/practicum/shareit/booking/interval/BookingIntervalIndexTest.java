@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.PrimaryReads;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+    private static final long ITEM_ID = 1;
+    private static final long OTHER_ITEM_ID = 2;
+    private static final LocalDateTime DAY = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository, new PrimaryReads(transactionManager, false), 100,
+                Duration.ofMinutes(10), Duration.ofDays(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void committedChangesAreAppliedWithoutReload() {
+        when(bookingRepository.getActiveBookingIntervals(eq(ITEM_ID), any()))
+                .thenReturn(List.of(new BookingInterval(1, DAY, DAY.plusDays(1), WAITING)));
+        assertEquals(1, index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10)).size());
+
+        index.bookingCreated(ITEM_ID, new BookingInterval(2, DAY.plusDays(3), DAY.plusDays(4), WAITING));
+        assertEquals(List.of(new BusyInterval(DAY, DAY.plusDays(1)), new BusyInterval(DAY.plusDays(3),
+                DAY.plusDays(4))), index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10)));
+
+        index.bookingAnswered(ITEM_ID, 2, APPROVED);
+        assertEquals(2, index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10)).size());
+
+        index.bookingAnswered(ITEM_ID, 1, REJECTED);
+        assertEquals(List.of(new BusyInterval(DAY.plusDays(3), DAY.plusDays(4))),
+                index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10)));
+        verify(bookingRepository, times(1)).getActiveBookingIntervals(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void changeOfOtherItemDoesNotDropLoad() {
+        when(bookingRepository.getActiveBookingIntervals(eq(ITEM_ID), any())).thenAnswer(invocation -> {
+            index.bookingCreated(OTHER_ITEM_ID, new BookingInterval(3, DAY, DAY.plusDays(1), WAITING));
+            return List.of();
+        });
+
+        index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10));
+        index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10));
+
+        verify(bookingRepository, times(1)).getActiveBookingIntervals(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void changeDuringLoadIsNotStored() {
+        when(bookingRepository.getActiveBookingIntervals(eq(ITEM_ID), any())).thenAnswer(invocation -> {
+            index.bookingCreated(ITEM_ID, new BookingInterval(3, DAY, DAY.plusDays(1), WAITING));
+            return List.of();
+        });
+
+        index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10));
+        index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10));
+
+        verify(bookingRepository, times(2)).getActiveBookingIntervals(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void rolledBackChangeEvictsItem() {
+        when(bookingRepository.getActiveBookingIntervals(eq(ITEM_ID), any())).thenReturn(List.of());
+        index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.bookingCreated(ITEM_ID, new BookingInterval(4, DAY, DAY.plusDays(1), WAITING));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization ->
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(), index.getBusyIntervals(ITEM_ID, DAY, DAY.plusDays(10)));
+        verify(bookingRepository, times(2)).getActiveBookingIntervals(eq(ITEM_ID), any());
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.interval;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.BookingConflictException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+class ItemIntervalsTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final ItemIntervals intervals = new ItemIntervals(List.of(
+            new BookingInterval(1, DAY, DAY.plusDays(2), APPROVED),
+            new BookingInterval(2, DAY.plusDays(5), DAY.plusDays(6), WAITING)));
+
+    @Test
+    void addRejectsOverlappingInterval() {
+        assertThrows(BookingConflictException.class,
+                () -> intervals.add(new BookingInterval(3, DAY.plusDays(1), DAY.plusDays(3), WAITING)));
+        assertThrows(BookingConflictException.class,
+                () -> intervals.add(new BookingInterval(3, DAY.minusDays(1), DAY.plusDays(10), WAITING)));
+        assertThrows(BookingConflictException.class,
+                () -> intervals.add(new BookingInterval(3, DAY.plusDays(5).plusHours(1), DAY.plusDays(5)
+                        .plusHours(2), WAITING)));
+    }
+
+    @Test
+    void addAcceptsAdjacentInterval() {
+        assertDoesNotThrow(() -> intervals.add(new BookingInterval(3, DAY.plusDays(2), DAY.plusDays(5), WAITING)));
+        assertDoesNotThrow(() -> intervals.add(new BookingInterval(4, DAY.minusDays(1), DAY, WAITING)));
+    }
+
+    @Test
+    void addedIntervalBlocksLaterOverlaps() {
+        intervals.add(new BookingInterval(3, DAY.plusDays(2), DAY.plusDays(3), WAITING));
+
+        assertThrows(BookingConflictException.class,
+                () -> intervals.checkAvailable(DAY.plusDays(2).plusHours(1), DAY.plusDays(4)));
+    }
+
+    @Test
+    void betweenReturnsIntervalsOverlappingWindow() {
+        assertEquals(List.of(1L, 2L), intervals.between(DAY.plusDays(1), DAY.plusDays(5).plusHours(1)).stream()
+                .map(BookingInterval::bookingId)
+                .toList());
+        assertEquals(List.of(2L), intervals.between(DAY.plusDays(2), DAY.plusDays(10)).stream()
+                .map(BookingInterval::bookingId)
+                .toList());
+        assertEquals(List.of(), intervals.between(DAY.plusDays(2), DAY.plusDays(5)));
+    }
+
+    @Test
+    void overlappingStoredIntervalsAreAllFound() {
+        ItemIntervals overlapping = new ItemIntervals(List.of(
+                new BookingInterval(1, DAY.minusDays(10), DAY.plusDays(20), APPROVED),
+                new BookingInterval(2, DAY, DAY.plusDays(1), WAITING),
+                new BookingInterval(3, DAY.plusDays(2), DAY.plusDays(3), WAITING)));
+
+        assertEquals(List.of(1L), overlapping.between(DAY.plusDays(4), DAY.plusDays(5)).stream()
+                .map(BookingInterval::bookingId)
+                .toList());
+        assertEquals(List.of(1L, 3L), overlapping.between(DAY.plusDays(2), DAY.plusDays(4)).stream()
+                .map(BookingInterval::bookingId)
+                .toList());
+        assertThrows(BookingConflictException.class,
+                () -> overlapping.checkAvailable(DAY.plusDays(4), DAY.plusDays(5)));
+    }
+}
@@ -15,14 +15,16 @@ public class BookingTest {
     void getStatus() {
         User user = new User(1L, "ss", "sss");
         ItemRequest request = new ItemRequest(1L,"sss",user, LocalDateTime.now());
-        Item item = new Item(1L,"ss","sss",true, user, request);
+        Item item = new Item(1L,"ss","sss",true, user, request, 0);
         Booking booking = new Booking(
                 1L,
                 LocalDateTime.of(2222, 12,12,12,12,12),
                 LocalDateTime.of(2223, 12,12,12,12,12),
                 item,
                 user,
-                BookingStatus.APPROVED);
+                user.getId(),
+                BookingStatus.APPROVED,
+                0);
 
         assertEquals(BookingStatus.APPROVED, booking.getStatus());
     }
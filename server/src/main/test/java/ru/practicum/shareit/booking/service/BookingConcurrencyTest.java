@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrency",
+        "shareit.retry.max-attempts=10"
+})
+class BookingConcurrencyTest {
+    private static final int THREADS = 8;
+
+    private final UserServiceImpl userService;
+    private final ItemServiceImpl itemService;
+    private final BookingServiceImpl bookingService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+    private long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDTO("Owner", "concurrent-owner@mail.ru")).getId();
+        bookerId = userService.createUser(new UserCreateDTO("Booker", "concurrent-booker@mail.ru")).getId();
+        itemId = itemService.createItem(ownerId, new ItemCreateDTO("drill", "cordless drill", true, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingId = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)))
+                .getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", ownerId, bookerId);
+    }
+
+    @Test
+    void concurrentApprovalsApplyTransitionOnce() throws Exception {
+        List<Throwable> failures = runConcurrently(i -> () ->
+                bookingService.answerBookingRequest(ownerId, bookingId, true));
+
+        assertEquals(List.of(), failures);
+        assertEquals(BookingStatus.APPROVED, bookingService.getBookingStatus(bookerId, bookingId).getStatus());
+        assertEquals(1, bookingVersion());
+    }
+
+    @Test
+    void conflictingAnswersLetOnlyOneWin() throws Exception {
+        List<Throwable> failures = runConcurrently(i -> () ->
+                bookingService.answerBookingRequest(ownerId, bookingId, i % 2 == 0));
+
+        BookingStatus status = bookingService.getBookingStatus(bookerId, bookingId).getStatus();
+        assertEquals(THREADS / 2, failures.size());
+        failures.forEach(failure -> assertInstanceOf(BookingConflictException.class, failure));
+        assertEquals(1, bookingVersion());
+        assertEquals(status, bookingService.answerBookingRequest(ownerId, bookingId,
+                status == BookingStatus.APPROVED).getStatus());
+        assertThrows(BookingConflictException.class, () -> bookingService.answerBookingRequest(ownerId, bookingId,
+                status != BookingStatus.APPROVED));
+    }
+
+    @Test
+    void concurrentOverlappingBookingsLetOnlyOneIn() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        List<Throwable> failures = runConcurrently(i -> () ->
+                bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start.plusHours(i),
+                        start.plusDays(1).plusHours(i))));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(BookingConflictException.class, failure));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE item_id = ?",
+                Integer.class, itemId));
+    }
+
+    @Test
+    void concurrentItemUpdatesAreRetried() throws Exception {
+        List<Throwable> failures = runConcurrently(i -> () ->
+                itemService.updateItem(ownerId, itemId, new ItemUpdateDTO(null, "description " + i, null)));
+
+        assertEquals(List.of(), failures);
+        assertEquals(THREADS, jdbcTemplate.queryForObject("SELECT version FROM items WHERE id = ?", Long.class,
+                itemId));
+    }
+
+    private long bookingVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM bookings WHERE id = ?", Long.class, bookingId);
+    }
+
+    private List<Throwable> runConcurrently(IntFunction<Callable<?>> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Callable<?> action = task.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return action.call();
+            }));
+        }
+        start.countDown();
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        executor.shutdown();
+        return failures;
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.booking.service;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -11,10 +13,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.IdNotFoundException;
+import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDTO;
@@ -25,8 +32,12 @@ import ru.practicum.shareit.user.dto.UserCreateDTO;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
@@ -101,4 +112,216 @@ class BookingServiceImplTest {
         assertEquals(bookingId, answer.getId());
         assertEquals(userId, answer.getBooker().getId());
     }
+
+    @Test
+    void getAllBookingsForUserItemsLoadsCommentsInOneQuery() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+
+        createCommentedBookings(ownerId, bookerId, 2);
+        long fewBookingsStatements = countStatements(() -> bookingService.getAllBookingsForUserItems(ownerId,
+                BookingState.ALL, 0, 20, null));
+
+        createCommentedBookings(ownerId, bookerId, 8);
+        long manyBookingsStatements = countStatements(() -> {
+            List<BookingDto> bookings = bookingService.getAllBookingsForUserItems(ownerId, BookingState.ALL, 0, 20,
+                    null);
+            assertEquals(10, bookings.size());
+            assertEquals(1, bookings.getFirst().getItem().getComments().size());
+        });
+
+        assertEquals(fewBookingsStatements, manyBookingsStatements);
+    }
+
+    @Test
+    void getAllBookingsOfUserPagesByKeyset() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item" + i, "description", true, null))
+                    .getId();
+            bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start.plusDays(i / 2),
+                    start.plusDays(10)));
+        }
+
+        List<BookingDto> firstPage = bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 0, 2, null);
+        long cursor = firstPage.getLast().getId();
+        List<BookingDto> secondPage = bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 0, 2, cursor);
+        List<BookingDto> byOffset = bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 2, 2, null);
+        List<BookingDto> lastPage = bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 0, 2,
+                secondPage.getLast().getId());
+
+        assertEquals(2, firstPage.size());
+        assertEquals(byOffset.stream().map(BookingDto::getId).toList(),
+                secondPage.stream().map(BookingDto::getId).toList());
+        assertEquals(1, lastPage.size());
+        assertThrows(IdNotFoundException.class,
+                () -> bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 0, 2, -1L));
+    }
+
+    @Test
+    void exportAllBookingsForUserItemsStreamsEveryBooking() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        createCommentedBookings(ownerId, bookerId, 3);
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", true, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)));
+
+        List<BookingDto> all = new ArrayList<>();
+        bookingService.exportAllBookingsForUserItems(ownerId, BookingState.ALL, all::add);
+        List<BookingDto> past = new ArrayList<>();
+        bookingService.exportAllBookingsForUserItems(ownerId, BookingState.PAST, past::add);
+
+        assertEquals(bookingService.getAllBookingsForUserItems(ownerId, BookingState.ALL, 0, 10, null)
+                        .stream().map(BookingDto::getId).toList(),
+                all.stream().map(BookingDto::getId).toList());
+        assertEquals(3, past.size());
+        assertEquals(1, past.getFirst().getItem().getComments().size());
+        assertThrows(IdNotFoundException.class,
+                () -> bookingService.exportAllBookingsForUserItems(-1, BookingState.ALL, all::add));
+    }
+
+    @Test
+    void createBookingRejectsOverlappingDates() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", true, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long bookingId = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start,
+                start.plusDays(2))).getId();
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start.plusDays(1), start.plusDays(3))));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start.plusDays(5), start.plusDays(4))));
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start.plusDays(2), start.plusDays(3)));
+        assertEquals(bookingId, bookingService.answerBookingRequest(ownerId, bookingId, true).getId());
+    }
+
+    @Test
+    void createBookingChecksDatabaseRatherThanCachedIntervals() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", true, null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(2)));
+        assertEquals(1, itemService.getItemAvailability(itemId, start, start.plusDays(2)).size());
+
+        em.createNativeQuery("DELETE FROM bookings WHERE item_id = :itemId")
+                .setParameter("itemId", itemId)
+                .executeUpdate();
+
+        assertNotNull(bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start.plusDays(1),
+                start.plusDays(3))).getId());
+    }
+
+    @Test
+    void createBookingsReturnsPerEntryResults() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", true, null)).getId();
+        long unavailableItemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", false,
+                null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookerId, List.of(
+                new BookingCreateDto(itemId, start, start.plusDays(1)),
+                new BookingCreateDto(itemId, start.plusHours(12), start.plusDays(2)),
+                new BookingCreateDto(-1, start, start.plusDays(1)),
+                new BookingCreateDto(unavailableItemId, start, start.plusDays(1)),
+                new BookingCreateDto(itemId, start.plusDays(2), start.plusDays(1)),
+                new BookingCreateDto(itemId, start.plusDays(1), start.plusDays(2))));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(BookingBatchResultDto::getIndex).toList());
+        assertNotNull(results.get(0).getBooking());
+        assertNull(results.get(0).getError());
+        assertEquals(bookerId, results.get(0).getBooking().getBooker().getId());
+        for (int i = 1; i < 5; i++) {
+            assertNull(results.get(i).getBooking());
+            assertNotNull(results.get(i).getError());
+        }
+        assertEquals(itemId, results.get(5).getBooking().getItem().getId());
+        assertEquals(2, bookingService.getAllBookingsOfUser(bookerId, BookingState.ALL, 0, 10, null).size());
+        assertThrows(IdNotFoundException.class, () -> bookingService.createBookings(-1, List.of()));
+    }
+
+    @Test
+    void createBookingsInsertsInJdbcBatches() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        List<BookingCreateDto> bookings = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 20; i++) {
+            long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item" + i, "description", true,
+                    null)).getId();
+            bookings.add(new BookingCreateDto(itemId, start, start.plusDays(1)));
+        }
+
+        long statements = countStatements(() -> {
+            bookingService.createBookings(bookerId, bookings);
+            em.flush();
+        });
+
+        assertEquals(5, statements);
+    }
+
+    @Test
+    void answerBookingRequestsUpdatesOnlyOwnWaitingBookings() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long otherOwnerId = userService.createUser(new UserCreateDTO("Other", "other@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item", "description", true, null)).getId();
+        long otherItemId = itemService.createItem(otherOwnerId, new ItemCreateDTO("item", "description", true,
+                null)).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> ownIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ownIds.add(bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start.plusDays(i),
+                    start.plusDays(i + 1))).getId());
+        }
+        long foreignId = bookingService.createBooking(bookerId, new BookingCreateDto(otherItemId, start,
+                start.plusDays(1))).getId();
+        List<Long> requested = List.of(ownIds.get(0), ownIds.get(1), foreignId, -5L);
+
+        List<BookingDto> approved = new ArrayList<>();
+        long statements = countStatements(() -> {
+            approved.addAll(bookingService.answerBookingRequests(ownerId, requested, true));
+            em.flush();
+        });
+
+        assertEquals(5, statements);
+        assertEquals(ownIds.subList(0, 2), approved.stream().map(BookingDto::getId).toList());
+        approved.forEach(booking -> assertEquals(BookingStatus.APPROVED, booking.getStatus()));
+        assertEquals(List.of(), bookingService.answerBookingRequests(ownerId, ownIds.subList(0, 1), false));
+        List<BookingDto> rejected = bookingService.answerBookingRequests(ownerId, ownIds.subList(2, 3), false);
+        assertEquals(BookingStatus.REJECTED, rejected.getFirst().getStatus());
+        assertEquals(BookingStatus.WAITING, bookingService.getBookingStatus(bookerId, foreignId).getStatus());
+        assertThrows(IdNotFoundException.class, () -> bookingService.answerBookingRequests(-1, ownIds, true));
+    }
+
+    private void createCommentedBookings(long ownerId, long bookerId, int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(10);
+        LocalDateTime end = start.plusDays(1);
+        for (int i = 0; i < count; i++) {
+            long itemId = itemService.createItem(ownerId, new ItemCreateDTO("item" + i, "description",
+                    true, null)).getId();
+            bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, end));
+            itemService.addComment(bookerId, itemId, new CommentCreateDTO("comment" + i));
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        action.run();
+        long statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(enabled);
+        return statements;
+    }
 }
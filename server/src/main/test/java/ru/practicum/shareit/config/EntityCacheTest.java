@@ -0,0 +1,90 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.IdNotFoundException;
+import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+import ru.practicum.shareit.user.dto.UserUpdateDTO;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class EntityCacheTest {
+    private static final String EMAIL = "cached@mail.ru";
+
+    private final UserServiceImpl userService;
+    private final ItemServiceImpl itemService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id IN (SELECT id FROM users WHERE email LIKE 'cached%')");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'cached%'");
+    }
+
+    @Test
+    void userIsServedFromCacheAndInvalidatedOnWrite() {
+        long userId = userService.createUser(new UserCreateDTO("Anna", EMAIL)).getId();
+        userService.getUser(userId);
+
+        Statistics statistics = statistics();
+        long hits = statistics.getDomainDataRegionStatistics("users").getHitCount();
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals("Anna", userService.getUser(userId).getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(hits + 1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+
+        userService.updateUser(userId, new UserUpdateDTO("Maria", null));
+        assertEquals("Maria", userService.getUser(userId).getName());
+
+        userService.deleteUser(userId);
+        assertThrows(IdNotFoundException.class, () -> userService.getUser(userId));
+    }
+
+    @Test
+    void itemIsInvalidatedOnUpdate() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "cached-owner@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("drill", "cordless drill", true, null))
+                .getId();
+        assertEquals("drill", itemService.getItem(ownerId, itemId).getName());
+
+        itemService.updateItem(ownerId, itemId, new ItemUpdateDTO("hammer drill", null, null));
+
+        assertEquals("hammer drill", itemService.getItem(ownerId, itemId).getName());
+        assertTrue(statistics().getDomainDataRegionStatistics("items").getPutCount() > 0);
+    }
+
+    @Test
+    void cacheStatisticsArePublishedAsMetrics() {
+        long userId = userService.createUser(new UserCreateDTO("Anna", EMAIL)).getId();
+        userService.getUser(userId);
+        userService.getUser(userId);
+
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", "hit")
+                .functionCounter());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
+import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary",
+        "shareit.datasource.replica.enabled=true",
+        "shareit.datasource.replica.url=jdbc:h2:mem:replica",
+        "shareit.datasource.replica.username=postgres",
+        "shareit.datasource.replica.password=qwerty12341",
+        "shareit.datasource.replica.driverClassName=org.h2.Driver"
+})
+class ReplicaDataSourceConfigTest {
+    private static final long REPLICA_USER_ID = 1_000_000;
+
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private ItemServiceImpl itemService;
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replicaDataSource);
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByReplica() {
+        replicaJdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'Replica', 'replica@mail.ru')",
+                REPLICA_USER_ID);
+        replicaJdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) "
+                + "VALUES (?, 'drill', 'cordless drill', true, ?)", REPLICA_USER_ID, REPLICA_USER_ID);
+
+        Collection<ItemDTOWithBookings> items = itemService.getAllItems(REPLICA_USER_ID);
+
+        assertEquals(1, items.size());
+        assertEquals("drill", items.iterator().next().getName());
+        assertEquals(0, countUsers(jdbcTemplate, REPLICA_USER_ID));
+    }
+
+    @Test
+    void writesGoToPrimary() {
+        long userId = userService.createUser(new UserCreateDTO("Primary", "primary@mail.ru")).getId();
+        itemService.createItem(userId, new ItemCreateDTO("saw", "hand saw", true, null));
+
+        assertEquals(1, countUsers(jdbcTemplate, userId));
+        assertEquals(0, countUsers(replicaJdbcTemplate, userId));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM items WHERE owner_id = ?", Integer.class,
+                userId));
+    }
+
+    @Test
+    void cachePopulatingReadsUsePrimary() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "replica-owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "replica-booker@mail.ru")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("saw", "hand saw", true, null)).getId();
+        copyToReplica("users", ownerId);
+        copyToReplica("users", bookerId);
+        copyToReplica("items", itemId);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)));
+        itemService.updateItem(ownerId, itemId, new ItemUpdateDTO("bow saw", null, null));
+        entityManagerFactory.getCache().evictAll();
+
+        assertEquals(1, itemService.getItemAvailability(itemId, start, start.plusDays(2)).size());
+        assertFalse(entityManagerFactory.getCache().contains(Item.class, itemId));
+        ItemDTOWithBookings item = itemService.getItem(ownerId, itemId);
+        assertEquals("bow saw", item.getName());
+        assertEquals(start, item.getNextBooking());
+    }
+
+    private void copyToReplica(String table, long id) {
+        jdbcTemplate.query("SELECT * FROM " + table + " WHERE id = ?", resultSet -> {
+            int columns = resultSet.getMetaData().getColumnCount();
+            List<Object> values = new ArrayList<>();
+            for (int i = 1; i <= columns; i++) {
+                values.add(resultSet.getObject(i));
+            }
+            replicaJdbcTemplate.update("INSERT INTO " + table + " VALUES ("
+                    + String.join(", ", Collections.nCopies(columns, "?")) + ")", values.toArray());
+        }, id);
+    }
+
+    private static int countUsers(JdbcTemplate jdbcTemplate, long userId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE id = ?", Integer.class, userId);
+    }
+}
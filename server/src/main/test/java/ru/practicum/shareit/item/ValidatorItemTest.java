@@ -11,8 +11,11 @@ import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.InternalServerException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -37,7 +40,7 @@ class ValidatorItemTest {
     @DisplayName("user exists")
     void validateIfUserNotExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(true);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.of(new User()));
         assertDoesNotThrow(() -> itemService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }
@@ -46,7 +49,7 @@ class ValidatorItemTest {
     @DisplayName("user not exists")
     void validateIfUserExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(false);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.empty());
         assertThrows(IdNotFoundException.class, () -> itemService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }
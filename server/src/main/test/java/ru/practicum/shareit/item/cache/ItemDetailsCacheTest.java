@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
+import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
+import ru.practicum.shareit.item.dto.item.ItemUpdateDTO;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.user.dto.UserCreateDTO;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+class ItemDetailsCacheTest {
+    private final UserServiceImpl userService;
+    private final ItemServiceImpl itemService;
+    private final BookingServiceImpl bookingService;
+    private final ItemDetailsCache itemDetailsCache;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long bookerId;
+    private long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = userService.createUser(new UserCreateDTO("Owner", "item-cache-owner@mail.ru")).getId();
+        bookerId = userService.createUser(new UserCreateDTO("Booker", "item-cache-booker@mail.ru")).getId();
+        itemId = itemService.createItem(ownerId, new ItemCreateDTO("drill", "cordless drill", true, null)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM comments WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM bookings WHERE item_id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", itemId);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", ownerId, bookerId);
+    }
+
+    @Test
+    void repeatedReadIsServedFromCache() {
+        double hits = meterRegistry.timer("shareit.item.details", "cache", "hit").count();
+
+        ItemDTOWithBookings first = itemService.getItem(ownerId, itemId);
+        ItemDTOWithBookings second = itemService.getItem(ownerId, itemId);
+
+        assertSame(first, second);
+        assertEquals(hits + 1, meterRegistry.timer("shareit.item.details", "cache", "hit").count());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", ItemDetailsCache.CACHE_NAME).functionCounter());
+    }
+
+    @Test
+    void ownerAndOtherUsersGetSeparateEntries() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        itemService.getItem(bookerId, itemId);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)));
+
+        assertEquals(start, itemService.getItem(ownerId, itemId).getNextBooking());
+        assertNull(itemService.getItem(bookerId, itemId).getNextBooking());
+    }
+
+    @Test
+    void writesEvictCachedItem() {
+        LocalDateTime start = LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        assertNull(itemService.getItem(ownerId, itemId).getLastBooking());
+
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusDays(1)));
+        assertEquals(start.plusDays(1), itemService.getItem(ownerId, itemId).getLastBooking());
+
+        itemService.addComment(bookerId, itemId, new CommentCreateDTO("works fine"));
+        assertEquals(1, itemService.getItem(ownerId, itemId).getComments().size());
+
+        itemService.updateItem(ownerId, itemId, new ItemUpdateDTO("hammer drill", null, null));
+        assertEquals("hammer drill", itemService.getItem(ownerId, itemId).getName());
+    }
+
+    @Test
+    void loadOverlappingEvictionIsNotStored() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CachedItem> loader = () -> {
+            if (loads.incrementAndGet() == 1) {
+                itemDetailsCache.evict(itemId);
+            }
+            return new CachedItem(ItemDTOWithBookings.builder().build(), null);
+        };
+
+        itemDetailsCache.get(itemId, false, loader);
+        itemDetailsCache.get(itemId, false, loader);
+        itemDetailsCache.get(itemId, false, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictionOfOtherItemDoesNotDropLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CachedItem> loader = () -> {
+            loads.incrementAndGet();
+            itemDetailsCache.evict(itemId + 1);
+            return new CachedItem(ItemDTOWithBookings.builder().build(), null);
+        };
+
+        itemDetailsCache.get(itemId, false, loader);
+        itemDetailsCache.get(itemId, false, loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void entryExpiresAtNextBookingBoundary() {
+        ItemDetailsExpiry expiry = new ItemDetailsExpiry(Duration.ofMinutes(10));
+        long ttl = Duration.ofMinutes(10).toNanos();
+
+        assertEquals(ttl, expiry.expireAfterCreate(null, new CachedItem(null, null), 0));
+        assertEquals(ttl, expiry.expireAfterCreate(null, new CachedItem(null, LocalDateTime.now().plusDays(1)), 0));
+        assertEquals(0, expiry.expireAfterCreate(null, new CachedItem(null, LocalDateTime.now().minusSeconds(1)), 0));
+        long untilBoundary = expiry.expireAfterCreate(null,
+                new CachedItem(null, LocalDateTime.now().plusSeconds(30)), 0);
+        assertTrue(untilBoundary > 0 && untilBoundary <= Duration.ofSeconds(30).toNanos());
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.comment.CommentCreateDTO;
 import ru.practicum.shareit.item.dto.comment.CommentDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
@@ -145,13 +146,13 @@ class ItemControllerTest {
         Collection<ItemDTO> collection = List.of(itemDTO);
         String text = "sssss";
 
-        when(itemService.searchItems(text)).thenReturn(collection);
+        when(itemService.searchItems(text, 0, 10)).thenReturn(collection);
 
         mockMvc.perform(get("/items/search?text=sssss")
                         .header(userIdHeader, userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
-        verify(itemService, times(1)).searchItems(text);
+        verify(itemService, times(1)).searchItems(text, 0, 10);
         verifyNoMoreInteractions(itemService);
     }
 
@@ -173,4 +174,24 @@ class ItemControllerTest {
         verify(itemService, times(1)).addComment(userId, itemId, comment);
         verifyNoMoreInteractions(itemService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability() throws Exception {
+        long userId = 3;
+        long itemId = 7;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        when(itemService.getItemAvailability(itemId, from, to))
+                .thenReturn(List.of(new BusyIntervalDTO(from.plusDays(1), from.plusDays(3))));
+
+        mockMvc.perform(get("/items/" + itemId + "/availability")
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .header(userIdHeader, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].start").value("2030-01-02T00:00:00"));
+        verify(itemService, times(1)).getItemAvailability(itemId, from, to);
+        verifyNoMoreInteractions(itemService);
+    }
+}
@@ -42,8 +42,8 @@ class ItemMapperTest {
         LocalDateTime end = LocalDateTime.of(2024, 12, 1, 12, 12);
         User requester = new User(11, "ss1", "sss1");
         ItemRequest itemRequest = new ItemRequest(2, "sss", requester, LocalDateTime.now());
-        Item item = new Item(12, "ss", "sss", true, user, itemRequest);
-        Booking booking = new Booking(10, start, end, item, requester, BookingStatus.APPROVED);
+        Item item = new Item(12, "ss", "sss", true, user, itemRequest, 0);
+        Booking booking = new Booking(10, start, end, item, requester, user.getId(), BookingStatus.APPROVED, 0);
 
         BookingCreateDto createDTO = new BookingCreateDto(item.getId(), start, end);
         Booking result = BookingDTOMapper.fromCreateDTO(user, item, createDTO);
@@ -54,7 +54,7 @@ class ItemMapperTest {
     @Test
     void toDTOForRequest() {
         User user = new User(10, "ss", "sss");
-        Item item = new Item(0, "ss", "sss", true, user, null);
+        Item item = new Item(0, "ss", "sss", true, user, null, 0);
         ItemDTOForRequest itemDTOForRequest = ItemDTOMapper.toDTOForRequest(item);
         assertEquals(item.getId(), itemDTOForRequest.getId());
         assertEquals(item.getName(), itemDTOForRequest.getName());
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.projection.ItemView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+    private static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "projector",
+            "cordless", "heavy", "portable", "electric", "folding", "camping", "garden", "vintage"};
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"10000", "100000"})
+    private int itemCount;
+
+    @Param({"drill", "ab", "portable kayak"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private InMemoryItemSearchEngine engine;
+    private ItemTextIndex index;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .run("--spring.main.web-application-type=none",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=OFF",
+                        "--logging.level.org.hibernate.orm.jdbc.bind=OFF");
+        itemRepository = context.getBean(ItemRepository.class);
+        fillItems(context.getBean(JdbcTemplate.class));
+        engine = new InMemoryItemSearchEngine(itemRepository);
+        engine.loadIndex();
+        index = new ItemTextIndex();
+        itemRepository.getAllAvailableItemsForIndex().forEach(index::put);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<ItemView> databaseLike() {
+        return itemRepository.searchItems(text, OffsetPageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Collection<ItemView> inMemoryEngine() {
+        return engine.searchItems(text, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public long[] inMemoryIndexOnly() {
+        return index.search(text);
+    }
+
+    private void fillItems(JdbcTemplate jdbcTemplate) {
+        long ownerId = 1;
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'owner', 'owner@mail.ru')", ownerId);
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            rows.add(new Object[]{i + 1L, name, description, random.nextInt(10) > 0, ownerId});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO items (id, name, description, is_available, owner_id) VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemTextIndexTest {
+
+    private final ItemTextIndex index = new ItemTextIndex();
+
+    @Test
+    void searchMatchesSubstringOfNameOrDescription() {
+        index.put(new IndexedItem(3, "Drill", "Cordless"));
+        index.put(new IndexedItem(1, "Saw", "Handy DRILLING saw"));
+        index.put(new IndexedItem(2, "Hammer", "Heavy"));
+
+        assertArrayEquals(new long[]{1, 3}, index.search("dRiLl"));
+        assertArrayEquals(new long[]{1, 2}, index.search("h"));
+        assertArrayEquals(new long[0], index.search("drills"));
+    }
+
+    @Test
+    void searchDoesNotMatchGramsSpreadOverNameAndDescription() {
+        index.put(new IndexedItem(1, "abcd", "cdef"));
+
+        assertArrayEquals(new long[0], index.search("abcdef"));
+    }
+
+    @Test
+    void putReplacesAndRemoveDropsItem() {
+        index.put(new IndexedItem(1, "Drill", "Cordless"));
+        index.put(new IndexedItem(1, "Saw", "Sharp"));
+
+        assertArrayEquals(new long[0], index.search("drill"));
+        assertArrayEquals(new long[]{1}, index.search("sharp"));
+
+        index.remove(1);
+
+        assertArrayEquals(new long[0], index.search("sharp"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void postingListsStaySortedAfterManyInserts() {
+        for (long id = 100; id > 0; id--) {
+            index.put(new IndexedItem(id, "item" + id, "common"));
+        }
+
+        long[] found = index.search("common");
+
+        assertEquals(100, found.length);
+        for (int i = 0; i < found.length; i++) {
+            assertEquals(i + 1, found[i]);
+        }
+    }
+}
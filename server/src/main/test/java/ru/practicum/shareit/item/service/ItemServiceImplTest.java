@@ -8,7 +8,10 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.IdNotFoundException;
+import ru.practicum.shareit.item.dto.availability.BusyIntervalDTO;
 import ru.practicum.shareit.item.dto.item.ItemCreateDTO;
 import ru.practicum.shareit.item.dto.item.ItemDTO;
 import ru.practicum.shareit.item.dto.item.ItemDTOWithBookings;
@@ -18,10 +21,18 @@ import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.UserCreateDTO;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @Transactional
@@ -33,6 +44,7 @@ class ItemServiceImplTest {
     private final UserServiceImpl userService;
     private final ItemRequestServiceImpl itemRequestService;
     private final ItemServiceImpl itemService;
+    private final BookingServiceImpl bookingService;
 
     @Test
     void createItem() {
@@ -95,4 +107,92 @@ class ItemServiceImplTest {
 
         assertEquals(items.size(), 3);
     }
+
+    @Test
+    void searchItems() {
+        long userId = userService.createUser(new UserCreateDTO("ss", "ss@ss")).getId();
+        long drillId = itemService.createItem(userId, new ItemCreateDTO("Drill", "Cordless", true, null)).getId();
+        long sawId = itemService.createItem(userId, new ItemCreateDTO("Saw", "Handy DRILLING saw", true, null)).getId();
+        itemService.createItem(userId, new ItemCreateDTO("Old drill", "Broken", false, null));
+
+        Collection<ItemDTO> items = itemService.searchItems("dRiLl", 0, 10);
+
+        assertEquals(Set.of(drillId, sawId), items.stream().map(ItemDTO::getId).collect(Collectors.toSet()));
+        assertTrue(itemService.searchItems(" ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchItemsReturnsRequestedPage() {
+        long userId = userService.createUser(new UserCreateDTO("ss", "ss@ss")).getId();
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            itemIds.add(itemService.createItem(userId, new ItemCreateDTO("Tent " + i, "Camping", true, null)).getId());
+        }
+
+        Collection<ItemDTO> page = itemService.searchItems("tent", 2, 2);
+
+        assertEquals(itemIds.subList(2, 4), page.stream().map(ItemDTO::getId).toList());
+        assertTrue(itemService.searchItems("tent", 6, 2).isEmpty());
+    }
+
+    @Test
+    void searchItemsCapsPageSize() {
+        long userId = userService.createUser(new UserCreateDTO("ss", "ss@ss")).getId();
+        for (int i = 0; i < 101; i++) {
+            itemService.createItem(userId, new ItemCreateDTO("Lamp " + i, "Desk", true, null));
+        }
+
+        assertEquals(100, itemService.searchItems("lamp", 0, 1000).size());
+    }
+
+    @Test
+    void getAllItemsReturnsLastAndNextBookingPerItem() {
+        long ownerId = userService.createUser(new UserCreateDTO("Owner", "owner@mail.ru")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("Booker", "booker@mail.ru")).getId();
+        long bookedItemId = itemService.createItem(ownerId, new ItemCreateDTO("Drill", "Cordless", true, null))
+                .getId();
+        long freeItemId = itemService.createItem(ownerId, new ItemCreateDTO("Saw", "Sharp", true, null)).getId();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingService.createBooking(bookerId, new BookingCreateDto(bookedItemId, now.minusDays(10),
+                now.minusDays(9)));
+        bookingService.createBooking(bookerId, new BookingCreateDto(bookedItemId, now.minusDays(5),
+                now.minusDays(4)));
+        bookingService.createBooking(bookerId, new BookingCreateDto(bookedItemId, now.plusDays(3),
+                now.plusDays(4)));
+        bookingService.createBooking(bookerId, new BookingCreateDto(bookedItemId, now.plusDays(1),
+                now.plusDays(2)));
+
+        List<ItemDTOWithBookings> items = List.copyOf(itemService.getAllItems(ownerId));
+
+        assertEquals(List.of(bookedItemId, freeItemId), items.stream().map(ItemDTOWithBookings::getId).toList());
+        assertEquals(now.minusDays(4), items.get(0).getLastBooking());
+        assertEquals(now.plusDays(1), items.get(0).getNextBooking());
+        assertNull(items.get(1).getLastBooking());
+        assertNull(items.get(1).getNextBooking());
+    }
+
+    @Test
+    void getItemAvailabilityMergesAndClipsBusyIntervals() {
+        long ownerId = userService.createUser(new UserCreateDTO("owner", "availability-owner@ss")).getId();
+        long bookerId = userService.createUser(new UserCreateDTO("booker", "availability-booker@ss")).getId();
+        long itemId = itemService.createItem(ownerId, new ItemCreateDTO("drill", "drill", true, null)).getId();
+        LocalDateTime day = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, day, day.plusDays(1)));
+        long approvedId = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, day.plusDays(1), day.plusDays(2))).getId();
+        bookingService.answerBookingRequest(ownerId, approvedId, true);
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, day.plusDays(5), day.plusDays(7)));
+
+        List<BusyIntervalDTO> busy = itemService.getItemAvailability(itemId, day.plusHours(12), day.plusDays(6));
+
+        assertEquals(2, busy.size());
+        assertEquals(day.plusHours(12), busy.get(0).getStart());
+        assertEquals(day.plusDays(2), busy.get(0).getEnd());
+        assertEquals(day.plusDays(5), busy.get(1).getStart());
+        assertEquals(day.plusDays(6), busy.get(1).getEnd());
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.getItemAvailability(itemId, day.plusDays(1), day));
+        assertThrows(IdNotFoundException.class,
+                () -> itemService.getItemAvailability(-1, day, day.plusDays(1)));
+    }
 }
@@ -8,8 +8,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -28,7 +31,7 @@ class ValidatorItemRequestTest {
     @DisplayName("user exists")
     void validateIfUserNotExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(true);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.of(new User()));
         assertDoesNotThrow(() -> requestService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }
@@ -37,7 +40,7 @@ class ValidatorItemRequestTest {
     @DisplayName("user not exists")
     void validateIfUserExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(false);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.empty());
         assertThrows(IdNotFoundException.class, () -> requestService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }
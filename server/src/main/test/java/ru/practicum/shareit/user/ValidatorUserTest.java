@@ -8,9 +8,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.IdNotFoundException;
 import ru.practicum.shareit.exception.ObjectAlreadyExistsException;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -29,7 +32,7 @@ class ValidatorUserTest {
     @DisplayName("user exists")
     void validateIfUserNotExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(true);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.of(new User()));
         assertDoesNotThrow(() -> userService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }
@@ -38,7 +41,7 @@ class ValidatorUserTest {
     @DisplayName("user not exists")
     void validateIfUserExistsTest() {
         long userId = 10L;
-        when(mockUserRepository.existsById(userId)).thenReturn(false);
+        when(mockUserRepository.findById(userId)).thenReturn(Optional.empty());
         assertThrows(IdNotFoundException.class, () -> userService.validateIfUserNotExists(userId));
         verifyNoMoreInteractions(mockUserRepository);
     }